@@ -0,0 +1,256 @@
+package BankingSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+// Abstract Account class representing a bank account
+abstract class Account<T extends Transaction> {
+    private static final int CHECKPOINT_INTERVAL = 64; // Number of postings between running balance checkpoints
+
+    private String accountNumber; // Unique account number
+    private User accountHolder; // Account holder details
+    protected double balance; // Account balance
+    protected List<T> transactions; // List of transactions including initial deposit
+    private volatile PostingListener postingListener; // Optional listener notified of each posting
+    private volatile long ledgerHash; // Rolling hash of every posting in the ledger, see LedgerHash
+    //checkpoint i holds the balance and date right after posting (i + 1) * CHECKPOINT_INTERVAL - 1
+    private long[] checkpointTimes = new long[8];
+    private double[] checkpointBalances = new double[8];
+    private int checkpointCount;
+    private volatile DepositStripes stripes; // Buffered deposits while the account is in hot mode, null otherwise
+    private boolean folding; // True while buffered deposits are being posted, only read under the account lock
+    private boolean posting; // True while the posting listener runs, only read under the account lock
+
+    // Constructor to initialize account details
+    public Account(String accountNumber, User accountHolder, double balance) {
+        this.accountNumber = accountNumber;
+        this.accountHolder = accountHolder;
+        this.balance = balance;
+        this.transactions = new ArrayList<>(); // Initialize transactions list
+
+        // Add initial deposit as the first transaction
+        post(createInitialDepositTransaction(accountNumber, balance));
+    }
+
+    //getter for the transactions history of the accounta
+    public List<T> getTransactions() {
+        fold();
+        return transactions;
+    }
+
+    // Getter method for account number
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    // Getter method for account holder
+    public User getAccountHolder() {
+        return accountHolder;
+    }
+
+    // Getter method for balance
+    public double getBalance() {
+        fold();
+        return balance;
+    }
+
+    // Getter method for the rolling hash of the ledger
+    public long getLedgerHash() {
+        fold();
+        return ledgerHash;
+    }
+
+    //true if deposits are currently buffered in stripes instead of taking the account lock
+    public boolean isHot() {
+        return stripes != null;
+    }
+
+    //switches the account to hot mode, deposits are buffered per thread and folded in when an exact balance is needed
+    //or by the bank's hot account folder
+    public synchronized void enableHotMode() {
+        if (stripes == null) {
+            stripes = new DepositStripes();
+        }
+    }
+
+    //switches the account back to locked deposits, folding in anything still buffered
+    public synchronized void disableHotMode() {
+        DepositStripes current = stripes;
+        if (current == null) {
+            return;
+        }
+        //closing first means no deposit can land in a stripe after the final fold
+        current.close();
+        fold();
+        stripes = null;
+    }
+
+    //buffers a deposit without taking the account lock, returns false if the account is not in hot mode
+    //the deposit is not part of the balance or ledger until the next fold
+    public boolean depositStriped(double amount) {
+        DepositStripes current = stripes;
+        return amount > 0 && current != null && current.add(amount, System.currentTimeMillis());
+    }
+
+    //posts every buffered deposit to the ledger in the order they were made, called before anything that needs
+    //the exact balance or ledger, costs only a scan of the stripes when nothing is buffered
+    protected void fold() {
+        DepositStripes current = stripes;
+        if (current == null || !current.hasPending()) {
+            return;
+        }
+        synchronized (this) {
+            //a fold started by a posting listener would post in the middle of another posting, so it is left for later
+            if (folding || posting) {
+                return;
+            }
+            folding = true;
+            try {
+                do {
+                    int count = current.drain();
+                    for (int i = 0; i < count; i++) {
+                        //a deposit can not be dated before the posting it follows, checkpoints rely on dates never going backwards
+                        long date = Math.max(current.timeAt(i), lastPostingTime());
+                        balance += current.amountAt(i);
+                        post(createDepositTransaction(current.amountAt(i), new Date(date)));
+                    }
+                } while (current.wasTruncated());
+            } finally {
+                folding = false;
+            }
+        }
+    }
+
+    //true while buffered deposits are being posted, lets a posting listener tell them apart from locked deposits
+    boolean isFolding() {
+        return folding;
+    }
+
+    //date of the latest posting in milliseconds
+    private long lastPostingTime() {
+        return transactions.isEmpty() ? 0 : transactions.get(transactions.size() - 1).getDate().getTime();
+    }
+
+    //balance of the account at the end of the given time, 0 if the account did not exist yet
+    //binary searches the checkpoints for the last one at or before the time and replays only the postings after it
+    public synchronized double balanceAsOf(long timestamp) {
+        fold();
+        int checkpoint = lastCheckpointAtOrBefore(timestamp);
+        double result = checkpoint < 0 ? 0 : checkpointBalances[checkpoint];
+        for (int i = (checkpoint + 1) * CHECKPOINT_INTERVAL; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            if (transaction.getDate().getTime() > timestamp) {
+                break;
+            }
+            result += transaction.getSignedAmount();
+        }
+        return result;
+    }
+
+    //index of the first posting dated after the given time, or the number of postings if there is none
+    public synchronized int firstPostingAfter(long timestamp) {
+        fold();
+        int i = (lastCheckpointAtOrBefore(timestamp) + 1) * CHECKPOINT_INTERVAL;
+        while (i < transactions.size() && transactions.get(i).getDate().getTime() <= timestamp) {
+            i++;
+        }
+        return i;
+    }
+
+    //index of the last checkpoint dated at or before the given time, -1 if there is none
+    //postings are made under the account lock so their dates, and the checkpoints' dates, never go backwards
+    private int lastCheckpointAtOrBefore(long timestamp) {
+        int low = 0;
+        int high = checkpointCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (checkpointTimes[middle] <= timestamp) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    //records a running balance checkpoint every CHECKPOINT_INTERVAL postings
+    private void checkpoint(Transaction transaction) {
+        if (transactions.size() % CHECKPOINT_INTERVAL != 0) {
+            return;
+        }
+        if (checkpointCount == checkpointTimes.length) {
+            checkpointTimes = Arrays.copyOf(checkpointTimes, checkpointCount * 2);
+            checkpointBalances = Arrays.copyOf(checkpointBalances, checkpointCount * 2);
+        }
+        checkpointTimes[checkpointCount] = transaction.getDate().getTime();
+        checkpointBalances[checkpointCount] = balance;
+        checkpointCount++;
+    }
+
+    //replaces the ledger with postings copied from another replica and sets the balance and hash to match
+    //only used on a follower being bootstrapped from a snapshot, before the account is added to the bank
+    synchronized void restoreLedger(List<T> postings) {
+        transactions.clear();
+        checkpointCount = 0;
+        balance = 0;
+        long hash = 0;
+        for (T transaction : postings) {
+            balance += transaction.getSignedAmount();
+            transactions.add(transaction);
+            checkpoint(transaction);
+            hash = LedgerHash.next(hash, transaction);
+        }
+        ledgerHash = hash;
+    }
+
+    // Abstract method for depositing money (using subclasses)
+    public abstract void deposit(double amount);
+
+    // Abstract method for withdrawing money
+    public abstract boolean withdraw(double amount) throws InsufficientFundsException;
+
+    // Method to add transaction to the list
+    public void addTransaction(T transaction) {
+        post(transaction);
+    }
+
+    //sets the listener notified after each posting, such as the bank's replication log
+    public void setPostingListener(PostingListener postingListener) {
+        this.postingListener = postingListener;
+    }
+
+    //appends a posting to the ledger, rolls it into the ledger hash and notifies the listener
+    //callers update the balance before posting so checkpoints record the balance after the posting
+    protected void post(T transaction) {
+        transactions.add(transaction);
+        checkpoint(transaction);
+        long previousHash = ledgerHash;
+        ledgerHash = LedgerHash.next(previousHash, transaction);
+        PostingListener listener = postingListener;
+        if (listener != null) {
+            posting = true;
+            try {
+                listener.posted(this, transaction, previousHash, ledgerHash);
+            } finally {
+                posting = false;
+            }
+        }
+    }
+
+    // Abstract method to create an initial deposit transaction
+    protected abstract T createInitialDepositTransaction(String accountNumber, double balance);
+
+    // Abstract method to create a deposit transaction for a buffered deposit made at the given date
+    protected abstract T createDepositTransaction(double amount, Date date);
+
+    // Override toString method to display account details
+    @Override
+    public String toString() {
+        return String.format("Owner: %s\nAccount Number: %s\nType: %s\nBalance: $%.2f",
+                accountHolder.getFullName(), accountNumber, this.getClass().getSimpleName(), getBalance());
+    }
+}
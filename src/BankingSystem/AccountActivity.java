@@ -0,0 +1,47 @@
+package BankingSystem;
+
+import java.util.concurrent.TimeUnit;
+
+//sliding window counters kept for a single account
+class AccountActivity {
+    //24 hourly buckets approximate a rolling day of outgoing money
+    private final SlidingWindowCounter withdrawals = new SlidingWindowCounter(24, TimeUnit.HOURS.toMillis(1));
+    //60 one second buckets approximate a rolling minute of transfers
+    private final SlidingWindowCounter transfers = new SlidingWindowCounter(60, TimeUnit.SECONDS.toMillis(1));
+    //60 one second buckets approximate a rolling minute of deposits
+    private final SlidingWindowCounter deposits = new SlidingWindowCounter(60, TimeUnit.SECONDS.toMillis(1));
+
+    //total withdrawn or transferred out within the last day
+    public synchronized double withdrawnToday(long now) {
+        return withdrawals.sum(now);
+    }
+
+    //number of transfers out within the last minute
+    public synchronized long transfersLastMinute(long now) {
+        return transfers.count(now);
+    }
+
+    //number of deposits within the last minute
+    public synchronized long depositsLastMinute(long now) {
+        return deposits.count(now);
+    }
+
+    //records a completed transaction against the matching counters
+    public synchronized void record(String transactionType, double amount, long now) {
+        switch (transactionType) {
+            case "deposit":
+                deposits.add(now, amount);
+                break;
+            case "withdrawal":
+                withdrawals.add(now, amount);
+                break;
+            case "transfer":
+                //transfers leave the account so they count towards the daily limit as well
+                withdrawals.add(now, amount);
+                transfers.add(now, amount);
+                break;
+            default:
+                break;
+        }
+    }
+}
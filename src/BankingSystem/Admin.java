@@ -0,0 +1,62 @@
+package BankingSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Admin generic class with type extending the Account class
+class Admin<A extends Account<Transaction>>{
+    //Bank Initialized with type A for type safety
+    private Bank<A> bank;
+    //basic password for admin
+    //NOTE: password should not be stored in code but for the scopr of this project it is a static variable
+    private static final String PASSWORD = "admin123"; // Static password for admin
+
+    //Admin constructor which has an instance of the current bank we have
+    public Admin(Bank<A> bank) {
+        this.bank = bank;
+    }
+
+    //authentication to ensure passsword matches to be able to use admin priveledges
+    public static boolean authenticate(String inputPassword) {
+        return PASSWORD.equals(inputPassword);
+    }
+
+    //moniter account method to print each user's account
+    public void monitorAccounts() {
+        ConsolePrinter.print("Monitoring all accounts:");
+        //uses a forEach loop and calls the callback function on each account in the getAccounts map
+        //Call back function returns the key and val for each entry in the map
+        bank.getAccounts().forEach((accountNumber, account) -> {
+            //copies the history under the account lock so concurrent postings can not change it while it is printed
+            List<Transaction> history;
+            synchronized (account) {
+                history = new ArrayList<>(account.getTransactions());
+            }
+            //prints the account via the toString method displaying polymorphism
+            ConsolePrinter.print(account.toString());
+            //another call back function to print each transaction via the forEach loop to iterate through all elements
+            //in the transactions List
+            history.forEach(transaction -> {
+                //prints the transaction via the toString method
+                ConsolePrinter.print("  - " + transaction);
+            });
+        });
+    }
+
+    //prints the queue depths, shed counts and rate limited count of the admission controller
+    public void monitorAdmission() {
+        ConsolePrinter.print("Admission control:");
+        ConsolePrinter.print(bank.getAdmissionController().toString());
+        ConsolePrinter.print(bank.getIdempotencyCache().toString());
+    }
+
+    //generate report method for the admin class which is just a wrapper method for the bank,generateReport() method
+    public void generateReport() {
+        bank.generateReport();
+    }
+
+    //wrapper for the bank's delta report, writes only what changed since the last report
+    public void generateDeltaReport() {
+        bank.generateDeltaReport();
+    }
+}
@@ -0,0 +1,197 @@
+package BankingSystem;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//admission control layer in front of the transaction path
+//work is placed on a bounded queue per priority and executed by a fixed set of workers,
+//anything that does not fit is shed immediately instead of queuing without bound
+class AdmissionController {
+    private final Map<Priority, BlockingQueue<QueuedTask>> queues = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> shedCounts = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> admittedCounts = new EnumMap<>(Priority.class);
+    private final ConcurrentHashMap<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    //one permit per queued item across all queues so general workers block while there is nothing to do
+    private final Semaphore pending = new Semaphore(0);
+    private final Thread[] workers;
+    private final double clientBurst; // burst size of each client's token bucket
+    private final double clientRatePerSecond; // refill rate of each client's token bucket
+    private volatile boolean running = true;
+
+    //constructor with the default queue sizes, worker count and client rate limits
+    public AdmissionController() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()), 1000, 10_000, 4, 100, 50);
+    }
+
+    //constructor to size the queues and workers and set the per client rate limit
+    public AdmissionController(int workerCount, int interactiveCapacity, int batchCapacity, int reportCapacity,
+                               double clientBurst, double clientRatePerSecond) {
+        queues.put(Priority.INTERACTIVE, new ArrayBlockingQueue<>(interactiveCapacity));
+        queues.put(Priority.BATCH, new ArrayBlockingQueue<>(batchCapacity));
+        queues.put(Priority.REPORT, new ArrayBlockingQueue<>(reportCapacity));
+        for (Priority priority : Priority.values()) {
+            shedCounts.put(priority, new AtomicLong());
+            admittedCounts.put(priority, new AtomicLong());
+        }
+        this.clientBurst = clientBurst;
+        this.clientRatePerSecond = clientRatePerSecond;
+
+        //the first worker only ever serves interactive work so it is never stuck behind batch or report work
+        workers = new Thread[workerCount];
+        workers[0] = new Thread(this::runInteractiveWorker, "admission-interactive");
+        for (int i = 1; i < workerCount; i++) {
+            workers[i] = new Thread(this::runWorker, "admission-worker-" + i);
+        }
+        for (Thread worker : workers) {
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    //tries to admit a piece of work for a client, never blocking the caller
+    public AdmissionResult submit(String clientId, Priority priority, Runnable task) {
+        return submit(clientId, priority, task, null);
+    }
+
+    //tries to admit a piece of work for a client, never blocking the caller, onDropped is run instead of the task
+    //if it is still queued when the controller shuts down, so a caller waiting on the task is always answered
+    public AdmissionResult submit(String clientId, Priority priority, Runnable task, Runnable onDropped) {
+        if (!running) {
+            return AdmissionResult.SHUT_DOWN;
+        }
+        //checks the client's rate limit before taking up any queue space
+        TokenBucket bucket = clientBuckets.computeIfAbsent(clientId, key -> new TokenBucket(clientBurst, clientRatePerSecond));
+        if (!bucket.tryAcquire()) {
+            rateLimitedCount.incrementAndGet();
+            return AdmissionResult.RATE_LIMITED;
+        }
+        //sheds the work if the queue for its priority is full
+        BlockingQueue<QueuedTask> queue = queues.get(priority);
+        QueuedTask queued = new QueuedTask(task, onDropped);
+        if (!queue.offer(queued)) {
+            shedCounts.get(priority).incrementAndGet();
+            return AdmissionResult.QUEUE_FULL;
+        }
+        //a shutdown that began after the check above may already have drained the queue, the task is taken back
+        //unless the shutdown or a worker got to it first, either of which answers it
+        if (!running && queue.remove(queued)) {
+            return AdmissionResult.SHUT_DOWN;
+        }
+        admittedCounts.get(priority).incrementAndGet();
+        pending.release();
+        return AdmissionResult.ADMITTED;
+    }
+
+    //loop for the dedicated interactive worker
+    private void runInteractiveWorker() {
+        BlockingQueue<QueuedTask> interactive = queues.get(Priority.INTERACTIVE);
+        while (running) {
+            try {
+                QueuedTask task = interactive.poll(100, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    execute(task);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    //loop for the general workers which always drain higher priorities first
+    private void runWorker() {
+        while (running) {
+            try {
+                pending.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            //the interactive worker may have already taken the item this permit was for, in which case we find nothing
+            for (Priority priority : Priority.values()) {
+                QueuedTask task = queues.get(priority).poll();
+                if (task != null) {
+                    execute(task);
+                    break;
+                }
+            }
+        }
+    }
+
+    //runs a task, making sure a failure does not kill the worker
+    private void execute(QueuedTask task) {
+        try {
+            task.task.run();
+        } catch (RuntimeException e) {
+            ConsolePrinter.print("Error processing request: " + e.getMessage());
+        }
+    }
+
+    //number of items waiting in the queue for a priority
+    public int getQueueDepth(Priority priority) {
+        return queues.get(priority).size();
+    }
+
+    //number of items shed because the queue for a priority was full
+    public long getShedCount(Priority priority) {
+        return shedCounts.get(priority).get();
+    }
+
+    //number of items admitted for a priority
+    public long getAdmittedCount(Priority priority) {
+        return admittedCounts.get(priority).get();
+    }
+
+    //number of submissions refused by a client's rate limit
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    //stops the workers, anything still queued is dropped and its onDropped run, tasks already running finish
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (BlockingQueue<QueuedTask> queue : queues.values()) {
+            QueuedTask task;
+            while ((task = queue.poll()) != null) {
+                if (task.onDropped != null) {
+                    try {
+                        task.onDropped.run();
+                    } catch (RuntimeException e) {
+                        ConsolePrinter.print("Error dropping request: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    //summary of queue depths and shed counts for monitoring
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Priority priority : Priority.values()) {
+            sb.append(String.format("%s: queued %d, admitted %d, shed %d\n",
+                    priority, getQueueDepth(priority), getAdmittedCount(priority), getShedCount(priority)));
+        }
+        sb.append(String.format("Rate limited: %d", getRateLimitedCount()));
+        return sb.toString();
+    }
+
+    //a queued piece of work along with what to do if it is dropped at shutdown, null if nothing
+    private static final class QueuedTask {
+        private final Runnable task;
+        private final Runnable onDropped;
+
+        QueuedTask(Runnable task, Runnable onDropped) {
+            this.task = task;
+            this.onDropped = onDropped;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package BankingSystem;
+
+//result of trying to admit a piece of work
+enum AdmissionResult {
+    ADMITTED,
+    RATE_LIMITED, // the client used up its token bucket, retry later
+    QUEUE_FULL, // the queue for the priority is full and the work was shed, retry later
+    SHUT_DOWN
+}
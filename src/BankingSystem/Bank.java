@@ -0,0 +1,1538 @@
+package BankingSystem;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Bank class representing the bank system
+class Bank<A extends Account<Transaction>> {
+    private static final long SNAPSHOT_STACK_SIZE = 1L << 28; // stack of the thread nesting every account lock for a snapshot
+    static final long HOT_FOLD_INTERVAL_MILLIS = 100; // longest a striped deposit stays out of the balance and ledger
+
+    private final Map<String, A> accounts; // Map to store accounts with account number as key
+    private final Map<String, User> users; // Map to store users with username as key
+    private final LimitChecker limitChecker; // velocity and limit rules evaluated on every transaction
+    private final AdmissionController admissionController; // bounded queues and rate limits in front of the transaction path
+    private volatile ReplicationLog replicationLog; // log of committed operations, null unless replication is enabled
+    private volatile boolean readOnly; // true while this bank is a replication follower
+    private final MerkleTree integrityTree = new MerkleTree(12); // Merkle tree over every account's ledger hash
+    private ReplicationPrimary replicationPrimary; // server streaming the log to followers, if this bank is a primary
+    private ReplicationFollower replicationFollower; // connection applying a primary's log, if this bank is a follower
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache(); // recent transactions by idempotency key
+    private final DeltaReportWriter deltaReports; // base and delta reports
+    private volatile int hotAccountThreshold = 3000; // deposits per minute that switch an account to hot mode, 0 turns it off
+    private final Map<String, Boolean> hotAccounts = new ConcurrentHashMap<>(); // hot accounts, true if switched on by detection
+    private Thread hotAccountFolder; // folds hot accounts in the background, started with the first hot account
+
+    // Constructor to initialize bank
+    public Bank() {
+        this(new AdmissionController());
+    }
+
+    // Constructor to initialize bank with a specific admission controller
+    public Bank(AdmissionController admissionController) {
+        this(admissionController, Paths.get("reports"));
+    }
+
+    // Constructor to initialize bank with a specific admission controller and directory for base and delta reports
+    public Bank(AdmissionController admissionController, Path reportDirectory) {
+        //concurrent maps since transactions and reports run on the admission controller's workers
+        accounts = new ConcurrentHashMap<>(); // Initialize accounts map
+        users = new ConcurrentHashMap<>(); // Initialize users map
+        limitChecker = new LimitChecker(LimitChecker.defaultRules()); // Initialize the rules engine with the default rules
+        this.admissionController = admissionController;
+        deltaReports = new DeltaReportWriter(reportDirectory);
+    }
+
+    //method to get the admission controller for monitoring queue depths and shed counts
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    //method to get the replication log, null if replication is not enabled
+    public ReplicationLog getReplicationLog() {
+        return replicationLog;
+    }
+
+    //method to mark the bank read only, which rejects every operation that would change it
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    //starts streaming committed operations to followers that connect on the given port
+    public void startReplicationPrimary(int port) throws IOException {
+        replicationLog = new ReplicationLog();
+        replicationPrimary = new ReplicationPrimary(this, port);
+    }
+
+    //starts following the primary at host:port, the bank serves read only traffic until promoted
+    public void startReplicationFollower(String host, int port) {
+        replicationLog = new ReplicationLog();
+        replicationFollower = new ReplicationFollower(this, host, port);
+    }
+
+    //promotes this follower to primary, serving its own followers on the given port
+    public void promoteFollower(int port) throws IOException, InvalidInputException {
+        if (replicationFollower == null) {
+            throw new InvalidInputException("This bank is not a replication follower.");
+        }
+        replicationPrimary = replicationFollower.promote(port);
+        replicationFollower = null;
+    }
+
+    //describes the replication role of this bank and how far along it is
+    public String replicationStatus() {
+        if (replicationPrimary != null) {
+            return "Primary on port " + replicationPrimary.getPort() + "\n" + replicationPrimary.followerStatus();
+        }
+        if (replicationFollower != null) {
+            String divergence = replicationFollower.getDivergence();
+            if (divergence != null) {
+                return "Follower, DIVERGED after operation #" + replicationFollower.getAppliedSequence() + " and stopped following: " + divergence;
+            }
+            return "Follower, applied operations up to #" + replicationFollower.getAppliedSequence();
+        }
+        return "Replication is not enabled.";
+    }
+
+    //makes the bank writable again and starts applying interest itself, called when a follower is promoted
+    void promoteToPrimary() {
+        readOnly = false;
+        for (A account : accounts.values()) {
+            if (account instanceof SavingsAccount) {
+                ((SavingsAccount) account).startInterest();
+            }
+        }
+        ConsolePrinter.print("Promoted to replication primary.");
+    }
+
+    //root hash of the Merkle tree over every account's ledger
+    public long integrityRoot() {
+        return integrityTree.root();
+    }
+
+    //captures the ledger hash of every account, for example alongside a backup or report
+    public IntegritySnapshot snapshotIntegrity() {
+        SnapshotPhaseEvent event = new SnapshotPhaseEvent();
+        event.begin();
+        IntegritySnapshot snapshot = integrityTree.snapshot(accounts);
+        commitSnapshotPhase(event, "integrity", "capture");
+        return snapshot;
+    }
+
+    //fills in and commits a snapshot phase event if it is enabled
+    static void commitSnapshotPhase(SnapshotPhaseEvent event, String snapshot, String phase) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.snapshot = snapshot;
+            event.phase = phase;
+            event.commit();
+        }
+    }
+
+    //account numbers whose ledgers no longer match a snapshot, only differing subtrees are visited
+    public List<String> findDivergentAccounts(IntegritySnapshot snapshot) {
+        return integrityTree.divergentAccounts(snapshot, accounts);
+    }
+
+    //saves a snapshot of every account's ledger hash to a file, to compare against later or on a replica
+    public IntegritySnapshot saveIntegritySnapshot(Path file) throws IOException {
+        IntegritySnapshot snapshot = snapshotIntegrity();
+        SnapshotPhaseEvent event = new SnapshotPhaseEvent();
+        event.begin();
+        snapshot.save(file);
+        commitSnapshotPhase(event, "integrity", "save");
+        return snapshot;
+    }
+
+    //account numbers whose ledgers differ from a snapshot file saved by this bank or by another replica
+    public List<String> findDivergentAccounts(Path snapshotFile) throws IOException, InvalidInputException {
+        IntegritySnapshot snapshot = IntegritySnapshot.load(snapshotFile);
+        try {
+            return findDivergentAccounts(snapshot);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+    }
+
+    //appends a committed operation to the replication log if replication is enabled
+    //callers hold the lock of the account involved so operations on an account are logged in the order they were applied
+    private void publish(OperationType type, double amount, String... args) {
+        ReplicationLog log = replicationLog;
+        if (log != null && !readOnly) {
+            log.append(new LedgerOperation(type, amount, args));
+        }
+    }
+
+    //posting listener for every account, keeps the integrity tree and delta reports up to date and logs interest and
+    //folded hot account deposits since those are posted by the account itself
+    //a folded deposit is logged when it is posted, under the account lock, so followers see it in the same
+    //order relative to withdrawals and transfers as the primary's ledger
+    private void onPosting(Account<?> account, Transaction transaction, long previousLedgerHash, long ledgerHash) {
+        integrityTree.update(account.getAccountNumber(), previousLedgerHash, ledgerHash);
+        deltaReports.markChanged(account.getAccountNumber());
+        if (transaction.getTransactionType().equals("Interest")) {
+            publish(OperationType.INTEREST, transaction.getAmount(), account.getAccountNumber());
+        } else if (account.isFolding() && transaction.getTransactionType().equals("Deposit")) {
+            publish(OperationType.DEPOSIT, transaction.getAmount(), account.getAccountNumber());
+            //counted once folded rather than when made so depositors never share the activity lock, this is what
+            //tells the folder when an automatically detected hot account has cooled down
+            limitChecker.activityFor(account.getAccountNumber()).record("deposit", transaction.getAmount(), System.currentTimeMillis());
+        }
+    }
+
+    //applies an operation received from the replication primary, in the order the primary committed them
+    void applyReplicated(LedgerOperation operation) {
+        switch (operation.getType()) {
+            case REGISTER:
+                users.put(operation.arg(1), new User(operation.arg(0), operation.arg(1), operation.arg(2), operation.arg(3)));
+                break;
+            case UPDATE_CONTACT:
+                User user = users.get(operation.arg(0));
+                if (user != null) {
+                    if (!operation.arg(1).isEmpty()) {
+                        user.setAddress(operation.arg(1));
+                    }
+                    if (!operation.arg(2).isEmpty()) {
+                        user.setPhoneNumber(operation.arg(2));
+                    }
+                }
+                break;
+            case OPEN:
+                A opened = createAccount(operation.arg(2), operation.arg(1), users.get(operation.arg(0)), operation.getAmount());
+                synchronized (opened) {
+                    accounts.put(opened.getAccountNumber(), opened);
+                    integrityTree.add(opened.getAccountNumber(), opened.getLedgerHash());
+                    deltaReports.markChanged(opened.getAccountNumber());
+                }
+                break;
+            case DEPOSIT:
+                A depositAccount = accounts.get(operation.arg(0));
+                synchronized (depositAccount) {
+                    depositAccount.deposit(operation.getAmount());
+                }
+                break;
+            case WITHDRAW:
+            case TRANSFER:
+                A fromAccount = accounts.get(operation.arg(0));
+                A toAccount = operation.getType() == OperationType.TRANSFER ? accounts.get(operation.arg(1)) : null;
+                synchronized (fromAccount) {
+                    try {
+                        fromAccount.withdraw(operation.getAmount());
+                    } catch (InsufficientFundsException e) {
+                        //the primary already accepted this so the replica has diverged, nothing is credited or logged
+                        //and the follower stops rather than carrying on as if it were in step
+                        throw new IllegalStateException("Replica diverged: " + e.getMessage(), e);
+                    }
+                }
+                if (toAccount != null) {
+                    synchronized (toAccount) {
+                        toAccount.deposit(operation.getAmount());
+                    }
+                }
+                break;
+            case INTEREST:
+                ((SavingsAccount) accounts.get(operation.arg(0))).applyInterest(operation.getAmount());
+                break;
+        }
+        replicationLog.appendReplicated(operation);
+    }
+
+    //state of the bank as of a point in the replication log, sent to a follower instead of the operations before it
+    //registrations and contact changes are logged under the users lock and every other operation under the lock
+    //of its account, so with all of those held no operation can be logged part way through and the state is
+    //exactly the one left by the operations up to the sequence at the start of the snapshot, the bank stops
+    //while the state is copied into memory and carries on before it is sent
+    byte[] captureReplicaSnapshot() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        SnapshotPhaseEvent event = new SnapshotPhaseEvent();
+        event.begin();
+        //the account locks are nested one inside the next, so they are taken on a thread with room for a frame per account
+        Throwable[] failure = new Throwable[1];
+        Thread capture = new Thread(null, () -> {
+            try {
+                synchronized (users) {
+                    List<A> locked = new ArrayList<>(accounts.values());
+                    //the same order transfers lock their two accounts in, so neither can wait on the other
+                    locked.sort(Comparator.comparing(Account::getAccountNumber));
+                    while (!writeReplicaSnapshot(locked, 0, out)) {
+                        bytes.reset();
+                        locked = new ArrayList<>(accounts.values());
+                        locked.sort(Comparator.comparing(Account::getAccountNumber));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                failure[0] = e;
+            }
+        }, "replication-snapshot", SNAPSHOT_STACK_SIZE);
+        capture.start();
+        try {
+            capture.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while capturing a replica snapshot.");
+        }
+        if (failure[0] instanceof IOException) {
+            throw (IOException) failure[0];
+        }
+        if (failure[0] != null) {
+            throw (RuntimeException) failure[0];
+        }
+        commitSnapshotPhase(event, "replica", "capture");
+        return bytes.toByteArray();
+    }
+
+    //locks the accounts from index on and then writes the snapshot, returns false without writing it if an account
+    //was opened after the locked accounts were listed, in which case the caller lists them again
+    private boolean writeReplicaSnapshot(List<A> locked, int index, DataOutputStream out) throws IOException {
+        if (index < locked.size()) {
+            synchronized (locked.get(index)) {
+                return writeReplicaSnapshot(locked, index + 1, out);
+            }
+        }
+        //buffered deposits are folded, and so logged, first so the sequence below covers them
+        for (A account : locked) {
+            account.fold();
+        }
+        long sequence = replicationLog.lastSequence();
+        //an account opened since the list was taken is put in the map before OPEN is logged, so it shows up here
+        //unless OPEN is logged after the sequence above
+        if (accounts.size() != locked.size()) {
+            return false;
+        }
+        out.writeLong(sequence);
+        out.writeInt(users.size());
+        for (User user : users.values()) {
+            out.writeUTF(user.getFullName());
+            out.writeUTF(user.getUsername());
+            out.writeUTF(user.getAddress());
+            out.writeUTF(user.getPhoneNumber());
+        }
+        out.writeInt(locked.size());
+        for (A account : locked) {
+            out.writeUTF(account.getAccountHolder().getUsername());
+            out.writeUTF(account.getAccountNumber());
+            out.writeUTF(account instanceof SavingsAccount ? "savings" : "checking");
+            List<Transaction> transactions = account.getTransactions();
+            out.writeInt(transactions.size());
+            for (Transaction transaction : transactions) {
+                out.writeUTF(transaction.getTransactionType());
+                out.writeDouble(transaction.getAmount());
+                out.writeLong(transaction.getDate().getTime());
+            }
+        }
+        out.flush();
+        return true;
+    }
+
+    //sequence of the last operation a replica snapshot covers
+    static long snapshotSequence(byte[] snapshot) {
+        try {
+            return new DataInputStream(new ByteArrayInputStream(snapshot)).readLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //fills this follower with the state from a primary's snapshot and continues its log after the snapshot
+    //a follower only starts out empty, one that already holds state fell further behind than the primary keeps
+    //operations for and has to be restarted to bootstrap again
+    void restoreReplicaSnapshot(byte[] snapshot) {
+        if (!users.isEmpty() || !accounts.isEmpty()) {
+            throw new IllegalStateException("the primary no longer holds the operations after #" + replicationLog.lastSequence()
+                    + ", restart this follower to bootstrap it from a snapshot");
+        }
+        SnapshotPhaseEvent event = new SnapshotPhaseEvent();
+        event.begin();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+            long sequence = in.readLong();
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                User user = new User(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+                users.put(user.getUsername(), user);
+            }
+            int accountCount = in.readInt();
+            for (int i = 0; i < accountCount; i++) {
+                User holder = users.get(in.readUTF());
+                String accountNumber = in.readUTF();
+                String accountType = in.readUTF();
+                List<Transaction> postings = new ArrayList<>();
+                for (int j = in.readInt(); j > 0; j--) {
+                    postings.add(new Transaction(accountNumber, in.readUTF(), in.readDouble(), new Date(in.readLong())));
+                }
+                A restored = createAccount(accountType, accountNumber, holder, 0);
+                restored.restoreLedger(postings);
+                synchronized (restored) {
+                    accounts.put(accountNumber, restored);
+                    integrityTree.add(accountNumber, restored.getLedgerHash());
+                    deltaReports.markChanged(accountNumber);
+                }
+            }
+            replicationLog.resetTo(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        commitSnapshotPhase(event, "replica", "restore");
+        ConsolePrinter.print(String.format("Restored a snapshot of %d customers and %d accounts from the primary.", users.size(), accounts.size()));
+    }
+
+    //creates an account of the given type without starting its interest schedule
+    private A createAccount(String accountType, String accountNumber, User accountHolder, double initialDeposit) {
+        //we then create a new checking account or savings account and type cast it to the generic type to be added to the map
+        A newAccount;
+        if (accountType.equalsIgnoreCase("checking")) {
+            newAccount = (A) new CheckingAccount(accountNumber, accountHolder, initialDeposit);
+        } else if (accountType.equalsIgnoreCase("savings")) {
+            newAccount = (A) new SavingsAccount(accountNumber, accountHolder, initialDeposit, 0.02, false);
+        } else {
+            return null;
+        }
+        newAccount.setPostingListener(this::onPosting);
+        return newAccount;
+    }
+
+    //method to replace the rule set evaluated on every transaction
+    public void setRules(List<TransactionRule> rules) {
+        limitChecker.setRules(rules);
+    }
+
+    //method to get the cache of recent transactions by idempotency key, for monitoring
+    public IdempotencyCache getIdempotencyCache() {
+        return idempotencyCache;
+    }
+
+    //method to get the rules engine for monitoring flagged and rejected counts
+    public LimitChecker getLimitChecker() {
+        return limitChecker;
+    }
+
+    //method to get all accounts in the bank
+    public Map<String, A> getAccounts() {
+        return accounts;
+    }
+
+    //method for conducting all the admin actions
+    public void adminActions(Admin admin, Scanner scanner) {
+        //admin password
+        System.out.print("Enter admin password: ");
+        String password = scanner.nextLine();
+
+        //First authenticates the admin via the password passed in
+        if (!Admin.authenticate(password)) {
+            ConsolePrinter.print("Invalid password. Access denied.");
+            return;
+        }
+
+        //CLI for admin actions after login is successful
+        while (true) {
+            //print statements
+            ConsolePrinter.print("\nAdmin Actions:");
+            ConsolePrinter.print("1. Monitor Accounts");
+            ConsolePrinter.print("2. Generate Report");
+            ConsolePrinter.print("3. View Admission Stats");
+            ConsolePrinter.print("4. Replication Status");
+            ConsolePrinter.print("5. Promote Follower to Primary");
+            ConsolePrinter.print("6. Generate Monthly Statements");
+            ConsolePrinter.print("7. Export Balances As Of Date");
+            ConsolePrinter.print("8. Toggle Hot Account");
+            ConsolePrinter.print("9. Generate Delta Report");
+            ConsolePrinter.print("10. Compact Delta Reports");
+            ConsolePrinter.print("11. Save Integrity Snapshot");
+            ConsolePrinter.print("12. Compare With Integrity Snapshot");
+            ConsolePrinter.print("13. Exit");
+            System.out.print("\nPlease select an option (1-13): ");
+
+            try {
+                //type of the operation we want to do as an admin
+                int choice = scanner.nextInt();
+                scanner.nextLine();
+
+                //switch statement for each operation
+                switch (choice) {
+                    case 1:
+                        admin.monitorAccounts();
+                        break;
+                    case 2:
+                        admin.generateReport();
+                        break;
+                    case 3:
+                        admin.monitorAdmission();
+                        break;
+                    case 4:
+                        ConsolePrinter.print(replicationStatus());
+                        //replicas with the same applied operations have the same integrity root
+                        ConsolePrinter.print(String.format("Integrity root: %016x", integrityRoot()));
+                        break;
+                    case 5:
+                        //asks for the port the promoted primary should serve its own followers on
+                        System.out.print("Port to accept followers on: ");
+                        int port = scanner.nextInt();
+                        scanner.nextLine();
+                        promoteFollower(port);
+                        break;
+                    case 6:
+                        //asks for the month the statements should cover
+                        System.out.print("Statement month (YYYY-MM): ");
+                        YearMonth period;
+                        try {
+                            period = YearMonth.parse(scanner.nextLine().trim());
+                        } catch (DateTimeParseException e) {
+                            throw new InvalidInputException("Month must be in the format YYYY-MM. Example: 2024-08.");
+                        }
+                        //a finished period is only written again if asked to
+                        boolean regenerate = false;
+                        if (statementsComplete(period)) {
+                            System.out.print("Statements for " + period + " were already generated. Regenerate them? (y/n): ");
+                            regenerate = scanner.nextLine().trim().equalsIgnoreCase("y");
+                            if (!regenerate) {
+                                ConsolePrinter.print("Keeping the existing statements under 'statements/" + period + "'");
+                                break;
+                            }
+                        }
+                        generateStatements(period, regenerate);
+                        break;
+                    case 7:
+                        //asks for the date the balances should be taken at
+                        System.out.print("Balances as of (YYYY-MM-DD): ");
+                        try {
+                            exportBalancesAsOf(LocalDate.parse(scanner.nextLine().trim()));
+                        } catch (DateTimeParseException e) {
+                            throw new InvalidInputException("Date must be in the format YYYY-MM-DD. Example: 2024-08-31.");
+                        }
+                        break;
+                    case 8:
+                        //asks for the account whose deposits should be buffered, or no longer buffered
+                        System.out.print("Account number: ");
+                        String hotAccountNumber = scanner.nextLine().trim();
+                        A hotAccount = accounts.get(hotAccountNumber);
+                        if (hotAccount == null) {
+                            throw new InvalidInputException("Account not found. Please check your input.");
+                        }
+                        setHotAccount(hotAccountNumber, !hotAccount.isHot());
+                        ConsolePrinter.print(String.format("Account %s is %s in hot mode.", hotAccountNumber, hotAccount.isHot() ? "now" : "no longer"));
+                        break;
+                    case 9:
+                        admin.generateDeltaReport();
+                        break;
+                    case 10:
+                        compactReports();
+                        break;
+                    case 11:
+                        //the file can be copied to a replica and compared there, or kept alongside a backup
+                        System.out.print("Save snapshot to file: ");
+                        Path saveFile = Paths.get(scanner.nextLine().trim());
+                        try {
+                            IntegritySnapshot saved = saveIntegritySnapshot(saveFile);
+                            ConsolePrinter.print(String.format("Integrity snapshot with root %016x saved to '%s'", saved.root(), saveFile));
+                        } catch (IOException e) {
+                            ConsolePrinter.print("Error saving integrity snapshot: " + e.getMessage());
+                        }
+                        break;
+                    case 12:
+                        //compares the live ledgers with a snapshot saved here or on another replica
+                        System.out.print("Snapshot file to compare with: ");
+                        Path compareFile = Paths.get(scanner.nextLine().trim());
+                        try {
+                            List<String> divergent = findDivergentAccounts(compareFile);
+                            if (divergent.isEmpty()) {
+                                ConsolePrinter.print("Every account matches the snapshot.");
+                            } else {
+                                ConsolePrinter.print(divergent.size() + " account(s) differ from the snapshot: " + String.join(", ", divergent));
+                            }
+                        } catch (IOException e) {
+                            ConsolePrinter.print("Error reading integrity snapshot: " + e.getMessage());
+                        }
+                        break;
+                    case 13:
+                        return;
+                    default:
+                        //throws an invalid input exception to state that is not a valid option
+                        throw new InvalidInputException("Invalid option. Please select again.");
+                }
+            } catch (InputMismatchException e) {
+                //print statement for InputMismatchError
+                ConsolePrinter.print("Invalid input. Please enter a number between 1 and 13.");
+                scanner.nextLine(); // Clear the invalid input
+            } catch (InvalidInputException e) {
+                //print statement for the invalidInputException we created
+                ConsolePrinter.print(e.getMessage());
+            } catch (IOException e) {
+                //print statement for a replication port that could not be opened
+                ConsolePrinter.print("Could not start replication primary: " + e.getMessage());
+            }
+        }
+    }
+
+    // Method to open a new account
+    public void openAccount(String username, String accountNumber, double initialDeposit, String accountType) {
+        //followers only change through replication
+        if (readOnly) {
+            ConsolePrinter.print("This bank is a read-only replica.");
+            return;
+        }
+        User accountHolder = users.get(username); // Retrieve user details from users map
+        //checks if it is a valid account and the account is not already added to the account map
+        if (accountHolder != null && !accounts.containsKey(accountNumber)) {
+            A newAccount = createAccount(accountType, accountNumber, accountHolder, initialDeposit);
+            if (newAccount == null) {
+                ConsolePrinter.print("Invalid account type.");
+                return;
+            }
+            //the account is logged before interest starts so followers see it opened before any interest posting
+            synchronized (newAccount) {
+                accounts.put(accountNumber, newAccount); // Add new account to accounts map
+                integrityTree.add(accountNumber, newAccount.getLedgerHash());
+                deltaReports.markChanged(accountNumber);
+                publish(OperationType.OPEN, initialDeposit, username, accountNumber, accountType.toLowerCase());
+            }
+            if (newAccount instanceof SavingsAccount) {
+                ((SavingsAccount) newAccount).startInterest();
+            }
+            ConsolePrinter.print("Account opened successfully with account number: " + accountNumber);
+        } else {
+            ConsolePrinter.print("Failed to open account. Please check your input.");
+        }
+    }
+
+    //checks if the user is in the users map
+    public boolean containsUser(String username) {
+        return users.containsKey(username);
+    }
+
+    //submits a transaction through admission control instead of spawning a thread for it
+    //the future completes once the transaction has been applied, or straight away with a retry later result
+    //if the client is over its rate limit or the queue for the priority is full
+    public CompletableFuture<TransactionResult> submitTransaction(String clientId, Priority priority, String accountNumber,
+                                                                 String transactionType, double amount, String destAccountNumber) {
+        CompletableFuture<TransactionResult> future = new CompletableFuture<>();
+        submitTransaction(clientId, priority, accountNumber, transactionType, amount, destAccountNumber, future);
+        return future;
+    }
+
+    //submits a transaction that carries a client supplied idempotency key, such as a UUID made for each transaction
+    //keys are scoped to the client, a key the same client repeats returns the future of the original transaction
+    //instead of applying it again, so a client that timed out can retry freely and a client can keep many
+    //transactions in flight, a key that is reused for a different transaction fails, a transaction that was not
+    //admitted is forgotten so its retry is a new attempt
+    public CompletableFuture<TransactionResult> submitTransaction(String clientId, String idempotencyKey, Priority priority, String accountNumber,
+                                                                 String transactionType, double amount, String destAccountNumber) {
+        //the lookup for a repeated key allocates nothing, a new entry is only made for a key not seen before
+        IdempotencyCache.Entry existing = idempotencyCache.get(clientId, idempotencyKey);
+        if (existing == null) {
+            IdempotencyCache.Entry entry = new IdempotencyCache.Entry(idempotencyKey, clientId, accountNumber, transactionType, amount, destAccountNumber);
+            existing = idempotencyCache.putIfAbsent(entry);
+            if (existing == null) {
+                AdmissionResult admission = submitTransaction(clientId, priority, accountNumber, transactionType, amount, destAccountNumber, entry.getResult());
+                if (admission != AdmissionResult.ADMITTED) {
+                    idempotencyCache.remove(entry);
+                }
+                return entry.getResult();
+            }
+        }
+        if (!existing.matches(accountNumber, transactionType, amount, destAccountNumber)) {
+            return CompletableFuture.completedFuture(TransactionResult.failed("Idempotency key " + idempotencyKey + " was already used for a different transaction."));
+        }
+        return existing.getResult();
+    }
+
+    //submits a transaction through admission control and completes the given future with its result
+    private AdmissionResult submitTransaction(String clientId, Priority priority, String accountNumber, String transactionType,
+                                              double amount, String destAccountNumber, CompletableFuture<TransactionResult> future) {
+        //the completed event spans from submission to the result, including time spent queued
+        TransactionCompletedEvent completedEvent = new TransactionCompletedEvent();
+        completedEvent.begin();
+        AdmissionResult admission = admissionController.submit(clientId, priority, () -> {
+            TransactionResult result;
+            try {
+                result = processTransaction(accountNumber, transactionType, amount, destAccountNumber);
+            } catch (RuntimeException e) {
+                //an unexpected error still completes the future, otherwise the caller and every retry of its
+                //idempotency key would wait forever, the error is rethrown so admission control logs it
+                result = TransactionResult.failed("Transaction failed: " + e);
+                commitCompletedEvent(completedEvent, accountNumber, transactionType, amount, result);
+                future.complete(result);
+                throw e;
+            }
+            commitCompletedEvent(completedEvent, accountNumber, transactionType, amount, result);
+            future.complete(result);
+        }, () -> {
+            //the transaction was still queued when admission control shut down, so it was never applied
+            TransactionResult result = TransactionResult.retryLater(AdmissionResult.SHUT_DOWN);
+            commitCompletedEvent(completedEvent, accountNumber, transactionType, amount, result);
+            future.complete(result);
+        });
+
+        TransactionSubmitEvent submitEvent = new TransactionSubmitEvent();
+        if (submitEvent.shouldCommit()) {
+            submitEvent.accountNumber = accountNumber;
+            submitEvent.transactionType = transactionType;
+            submitEvent.amount = amount;
+            submitEvent.priority = priority.name();
+            submitEvent.admission = admission.name();
+            submitEvent.commit();
+        }
+
+        if (admission != AdmissionResult.ADMITTED) {
+            TransactionResult result = TransactionResult.retryLater(admission);
+            commitCompletedEvent(completedEvent, accountNumber, transactionType, amount, result);
+            future.complete(result);
+        }
+        return admission;
+    }
+
+    //fills in and commits a completed event if it is enabled
+    private static void commitCompletedEvent(TransactionCompletedEvent event, String accountNumber, String type, double amount, TransactionResult result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.accountNumber = accountNumber;
+            event.transactionType = type;
+            event.amount = amount;
+            event.status = result.getStatus().name();
+            event.commit();
+        }
+    }
+
+    //fills in and commits a lock event once the account monitor(s) have been acquired
+    private static void commitLockEvent(TransactionLockEvent event, String accountNumber, String type, double amount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.accountNumber = accountNumber;
+            event.transactionType = type;
+            event.amount = amount;
+            event.commit();
+        }
+    }
+
+    //fills in and commits an applied event just before the account monitor(s) are released
+    private static void commitAppliedEvent(TransactionAppliedEvent event, String accountNumber, String type, double amount, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.accountNumber = accountNumber;
+            event.transactionType = type;
+            event.amount = amount;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    //applies a transaction on the calling thread, prints the outcome and returns it
+    public TransactionResult processTransaction(String accountNumber, String transactionType, double amount, String destAccountNumber) {
+        TransactionResult result;
+        try {
+            //followers only change through replication
+            if (readOnly) {
+                throw new InvalidInputException("This bank is a read-only replica.");
+            }
+            result = applyTransaction(accountNumber, transactionType.toLowerCase(), amount, destAccountNumber);
+        } catch (InsufficientFundsException | InvalidInputException | TransactionRejectedException e) {
+            //catching exceptions
+            result = TransactionResult.failed(e.getMessage());
+        }
+        ConsolePrinter.print(result.getMessage());
+        return result;
+    }
+
+    //applies a single deposit, withdrawal or transfer
+    private TransactionResult applyTransaction(String accountNumber, String type, double amount, String destAccountNumber)
+            throws InsufficientFundsException, InvalidInputException, TransactionRejectedException {
+        //gets the account number we are doing a transaction on
+        A account = accounts.get(accountNumber);
+        if (account == null) {
+            throw new InvalidInputException("Account not found. Please check your input.");
+        }
+        //transfers lock both accounts so they are handled by the transfer method
+        if (type.equals("transfer")) {
+            return transfer(accountNumber, destAccountNumber, amount);
+        }
+        //deposits into a hot account are buffered without taking the account lock, the rules are still evaluated
+        //but the deposit is only recorded against the velocity windows once it is folded in
+        if (type.equals("deposit") && account.isHot() && amount > 0) {
+            TransactionRule flaggedBy = limitChecker.check(accountNumber, type, amount);
+            if (account.depositStriped(amount)) {
+                //the deposit is folded in, and so reaches the posting listener, when the account is next read or by
+                //the hot account folder within HOT_FOLD_INTERVAL_MILLIS, whichever comes first
+                deltaReports.markChanged(accountNumber);
+                limitChecker.reportFlag(accountNumber, flaggedBy);
+                //the balance is only known once the deposit is folded in, so none is returned
+                return TransactionResult.completed(String.format("Transaction successful! Deposit of $%.2f accepted.\n", amount), Double.NaN);
+            }
+            //the account left hot mode in the meantime, so the deposit goes through the locked path below
+        }
+        TransactionLockEvent lockEvent = new TransactionLockEvent();
+        lockEvent.begin();
+        //synchronizes the account to ensure no other processes are occuring on the shared account field
+        synchronized (account) {
+            commitLockEvent(lockEvent, accountNumber, type, amount);
+            TransactionAppliedEvent appliedEvent = new TransactionAppliedEvent();
+            appliedEvent.begin();
+            boolean succeeded = false;
+            try {
+                //evaluates the velocity and limit rules before anything is applied
+                TransactionRule flaggedBy = limitChecker.check(accountNumber, type, amount);
+                //switch case for the different transaction types
+                switch (type) {
+                    case "deposit":
+                        //calls the deposit method
+                        account.deposit(amount);
+                        publish(OperationType.DEPOSIT, amount, accountNumber);
+                        break;
+                    case "withdrawal":
+                        //calls withdraw method which throws if there are not enough funds
+                        account.withdraw(amount);
+                        publish(OperationType.WITHDRAW, amount, accountNumber);
+                        break;
+                    default:
+                        //throws an error if the transaction type is not correct
+                        throw new InvalidInputException("Invalid transaction type.");
+                }
+                limitChecker.record(accountNumber, type, amount, flaggedBy);
+                if (type.equals("deposit")) {
+                    detectHotAccount(account);
+                }
+                succeeded = true;
+                return TransactionResult.completed(String.format("Transaction successful! New balance: %.2f\n", account.getBalance()), account.getBalance());
+            } finally {
+                commitAppliedEvent(appliedEvent, accountNumber, type, amount, succeeded);
+            }
+        }
+    }
+
+    //switches an account to hot mode once its deposits in the last minute reach the threshold, called under the account lock
+    private void detectHotAccount(A account) {
+        int threshold = hotAccountThreshold;
+        if (threshold > 0 && !account.isHot()
+                && limitChecker.activityFor(account.getAccountNumber()).depositsLastMinute(System.currentTimeMillis()) >= threshold) {
+            hotAccounts.put(account.getAccountNumber(), true);
+            account.enableHotMode();
+            startHotAccountFolder();
+            ConsolePrinter.print(String.format("Account %s is receiving %d or more deposits a minute and is now in hot mode.", account.getAccountNumber(), threshold));
+        }
+    }
+
+    //method to put an account into hot mode or take it out again, returns false if the account does not exist
+    //an account put into hot mode here stays in it until taken out here, it is not switched off by detection
+    public boolean setHotAccount(String accountNumber, boolean hot) {
+        A account = accounts.get(accountNumber);
+        if (account == null) {
+            return false;
+        }
+        //hot mode only changes under the account lock so the folder can not switch off an account being put back
+        synchronized (account) {
+            if (hot) {
+                hotAccounts.put(accountNumber, false);
+                account.enableHotMode();
+            } else {
+                hotAccounts.remove(accountNumber);
+                account.disableHotMode();
+            }
+        }
+        if (hot) {
+            startHotAccountFolder();
+        }
+        return true;
+    }
+
+    //starts the thread folding hot accounts, does nothing if it is already running
+    private synchronized void startHotAccountFolder() {
+        if (hotAccountFolder == null) {
+            hotAccountFolder = new Thread(this::foldHotAccounts, "hot-account-folder");
+            hotAccountFolder.setDaemon(true);
+            hotAccountFolder.start();
+        }
+    }
+
+    //folds every hot account's buffered deposits at a fixed interval so they reach the balance, ledger, integrity
+    //tree and replication log even when nothing reads the account, and takes an automatically detected hot account
+    //out of hot mode once its deposits fall below half the threshold, the gap keeps an account near the threshold
+    //from switching back and forth, or at once if detection has been turned off
+    private void foldHotAccounts() {
+        while (true) {
+            long now = System.currentTimeMillis();
+            int threshold = hotAccountThreshold;
+            for (Map.Entry<String, Boolean> hot : hotAccounts.entrySet()) {
+                A account = accounts.get(hot.getKey());
+                account.fold();
+                if (hot.getValue() && (threshold <= 0
+                        || limitChecker.activityFor(account.getAccountNumber()).depositsLastMinute(now) < threshold / 2)) {
+                    synchronized (account) {
+                        if (hotAccounts.remove(account.getAccountNumber(), true)) {
+                            account.disableHotMode();
+                            ConsolePrinter.print(threshold <= 0
+                                    ? String.format("Hot account detection is off, account %s is no longer in hot mode.", account.getAccountNumber())
+                                    : String.format("Account %s is receiving fewer than %d deposits a minute and is no longer in hot mode.", account.getAccountNumber(), threshold / 2));
+                        }
+                    }
+                }
+            }
+            try {
+                Thread.sleep(HOT_FOLD_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    //method to set the deposits per minute at which an account is switched to hot mode, 0 turns detection off
+    public void setHotAccountThreshold(int depositsPerMinute) {
+        hotAccountThreshold = depositsPerMinute;
+    }
+
+    // Method to transfer money between accounts
+    private TransactionResult transfer(String fromAccountNumber, String toAccountNumber, double amount)
+            throws InsufficientFundsException, InvalidInputException, TransactionRejectedException {
+        //gets the 2 accounts from the map via the account numbers passed in
+        A fromAccount = accounts.get(fromAccountNumber);
+        A toAccount = toAccountNumber == null ? null : accounts.get(toAccountNumber);
+
+        if (fromAccount == null || toAccount == null) {
+            throw new InvalidInputException("One or both accounts not found. Please check your input.");
+        }
+
+        //locks both accounts in account number order so two opposite transfers can not deadlock
+        A first = fromAccountNumber.compareTo(toAccountNumber) <= 0 ? fromAccount : toAccount;
+        A second = first == fromAccount ? toAccount : fromAccount;
+        TransactionLockEvent lockEvent = new TransactionLockEvent();
+        lockEvent.begin();
+        synchronized (first) {
+            synchronized (second) {
+                commitLockEvent(lockEvent, fromAccountNumber, "transfer", amount);
+                TransactionAppliedEvent appliedEvent = new TransactionAppliedEvent();
+                appliedEvent.begin();
+                boolean succeeded = false;
+                try {
+                    //evaluates the velocity and limit rules against the source account
+                    TransactionRule flaggedBy = limitChecker.check(fromAccountNumber, "transfer", amount);
+                    //withdraws the amount if possible
+                    if (fromAccount.withdraw(amount)) {
+                        toAccount.deposit(amount);
+                        publish(OperationType.TRANSFER, amount, fromAccountNumber, toAccountNumber);
+                        //counts the transfer against the source account's velocity limits
+                        limitChecker.record(fromAccountNumber, "transfer", amount, flaggedBy);
+                        succeeded = true;
+                        return TransactionResult.completed(String.format("$%.2f transferred from account %s to account %s.\n",
+                                amount, fromAccountNumber, toAccountNumber), fromAccount.getBalance());
+                    } else {
+                        //throws an exception if there are not enough funds
+                        throw new InsufficientFundsException("Insufficient funds for the transfer.");
+                    }
+                } finally {
+                    commitAppliedEvent(appliedEvent, fromAccountNumber, "transfer", amount, succeeded);
+                }
+            }
+        }
+    }
+
+    // Method to search for accounts by name, username, or account number
+    public void searchAccounts(String keyword) {
+        //boolean to see if the account exists
+        boolean found = false;
+        //iterates through each account in the accounts map values
+        for (A account : accounts.values()) {
+            //checks if the full name matches, username matches, or account number matches
+            if (account.getAccountHolder().getFullName().toLowerCase().contains(keyword.toLowerCase()) ||
+                    account.getAccountHolder().getUsername().toLowerCase().contains(keyword.toLowerCase()) ||
+                    account.getAccountNumber().toLowerCase().contains(keyword.toLowerCase())) {
+                //prints content from the account
+                ConsolePrinter.print("Owner: " + account.getAccountHolder().getFullName());
+                ConsolePrinter.print("Account Number: " + account.getAccountNumber());
+                ConsolePrinter.print("Type: " + account.getClass().getSimpleName());
+                ConsolePrinter.print(String.format("Balance: $%.2f\n\n", account.getBalance()));
+                found = true;
+            }
+        }
+        //prints error if account is not found
+        if (!found) {
+            ConsolePrinter.print("No accounts found matching the search criteria.");
+        }
+    }
+
+    //method to asynchronously generate a report of all the accounts and transactions
+    //the report runs on the admission controller's report queue rather than on a thread of its own
+    public void generateReport() {
+        AdmissionResult admission = admissionController.submit("report", Priority.REPORT, this::writeReport);
+        if (admission != AdmissionResult.ADMITTED) {
+            ConsolePrinter.print("The bank is busy and the report could not be scheduled. Please retry later.");
+        }
+    }
+
+    //writes the report of all the accounts and transactions
+    private void writeReport() {
+        //opens the FileWriter in append mode
+        try (FileWriter writer = new FileWriter("accounts_report.txt", true)) {
+            //prints that the report sequence has started
+            ConsolePrinter.print("Report is being generated asynchronously.");
+            //writing the title to the file
+            writer.write("Accounts Report:\n");
+            //the integrity root lets the report be checked against live state or a replica later
+            writer.write(String.format("Integrity Root: %016x\n", integrityTree.root()));
+            writer.write("======================================\n");
+
+            //records the wait for the accounts lock and the writing as separate phases
+            ReportPhaseEvent waitPhase = new ReportPhaseEvent();
+            waitPhase.begin();
+            //synchonizes the accounts variable to ensure access to most accurate account information
+            synchronized (accounts) {
+                waitPhase.phase = "waitForAccounts";
+                waitPhase.commit();
+                ReportPhaseEvent writePhase = new ReportPhaseEvent();
+                writePhase.begin();
+                //iterates through the accounts
+                for (A account : accounts.values()) {
+                    //writes the information to the file with a formatted string
+                    writer.write(String.format("Owner: %s\n", account.getAccountHolder().getFullName()));
+                    writer.write(String.format("Account Number: %s\n", account.getAccountNumber()));
+                    writer.write(String.format("Type: %s\n", account.getClass().getSimpleName()));
+                    writer.write(String.format("Balance: %.2f\n", account.getBalance()));
+
+                    //prints transactions
+                    writer.write("Transactions:\n");
+                    //synchronizes the account to ensure no other transactions happen during the process
+                    synchronized (account) {
+                        for (Transaction transaction : account.getTransactions()) {
+                            //writes the transaction to the file
+                            writer.write(String.format("  - %s: %.2f on %s\n", transaction.getTransactionType(), transaction.getAmount(), transaction.getDate()));
+                        }
+                    }
+
+                    writer.write("======================================\n");
+                }
+                writePhase.phase = "writeAccounts";
+                writePhase.commit();
+            }
+
+            //print statement
+            ConsolePrinter.print("Report generated and saved as 'accounts_report.txt'");
+        } catch (IOException e) {
+            //catches error
+            ConsolePrinter.print("Error generating report: " + e.getMessage());
+        }
+    }
+
+    //method to asynchronously write a delta report with only the accounts and postings that changed since the
+    //last one, the first delta report of a run is a full base report, the chain is written under 'reports'
+    public void generateDeltaReport() {
+        AdmissionResult admission = admissionController.submit("report", Priority.REPORT, () -> {
+            ReportPhaseEvent event = new ReportPhaseEvent();
+            event.begin();
+            try {
+                Path written = deltaReports.writeDelta(accounts, integrityTree.root());
+                ConsolePrinter.print(written == null ? "No account has changed since the last report." : "Report saved as '" + written + "'");
+            } catch (IOException e) {
+                ConsolePrinter.print("Error generating report: " + e.getMessage());
+            }
+            event.phase = "writeDelta";
+            event.commit();
+        });
+        if (admission != AdmissionResult.ADMITTED) {
+            ConsolePrinter.print("The bank is busy and the report could not be scheduled. Please retry later.");
+        }
+    }
+
+    //method to asynchronously merge the base report and its deltas into a new base report
+    public void compactReports() {
+        AdmissionResult admission = admissionController.submit("report", Priority.REPORT, () -> {
+            ReportPhaseEvent event = new ReportPhaseEvent();
+            event.begin();
+            try {
+                Path base = deltaReports.compact();
+                ConsolePrinter.print(base == null ? "There are no reports to compact." : "Reports compacted into '" + base + "'");
+            } catch (IOException e) {
+                ConsolePrinter.print("Error compacting reports: " + e.getMessage());
+            }
+            event.phase = "compact";
+            event.commit();
+        });
+        if (admission != AdmissionResult.ADMITTED) {
+            ConsolePrinter.print("The bank is busy and the compaction could not be scheduled. Please retry later.");
+        }
+    }
+
+    //method to check whether every statement of a period has already been written
+    public boolean statementsComplete(YearMonth period) {
+        return statementGenerator(period).isComplete();
+    }
+
+    //method to generate the monthly statements of every account for a period that has ended
+    //the statements are generated on the admission controller's report queue and written to statements/<period>
+    //a period that was already completed is left as it is unless regenerate is set
+    public void generateStatements(YearMonth period, boolean regenerate) throws InvalidInputException {
+        StatementGenerator generator = statementGenerator(period);
+        if (!generator.isPeriodOver()) {
+            throw new InvalidInputException("Statements can only be generated for a month that has ended.");
+        }
+        AdmissionResult admission = admissionController.submit("report", Priority.REPORT, () -> {
+            try {
+                if (regenerate) {
+                    generator.clear();
+                } else if (generator.isComplete()) {
+                    ConsolePrinter.print("Statements for " + period + " were already generated under 'statements/" + period + "'");
+                    return;
+                }
+                ConsolePrinter.print("Statements for " + period + " are being generated asynchronously.");
+                generator.generate();
+                ConsolePrinter.print("Statements saved under 'statements/" + period + "'");
+            } catch (IOException e) {
+                ConsolePrinter.print("Error generating statements, run again to resume: " + e.getMessage());
+            }
+        });
+        if (admission != AdmissionResult.ADMITTED) {
+            ConsolePrinter.print("The bank is busy and the statements could not be scheduled. Please retry later.");
+        }
+    }
+
+    //statement generator for a period, writing under statements/<period>
+    private StatementGenerator statementGenerator(YearMonth period) {
+        return new StatementGenerator(accounts, period, Paths.get("statements"), 1000);
+    }
+
+    //method to export the balance of every account at the end of a date
+    //the balances are computed in parallel on the report queue and written to balances_as_of_<date>.txt
+    public void exportBalancesAsOf(LocalDate date) {
+        AdmissionResult admission = admissionController.submit("report", Priority.REPORT, () -> writeBalancesAsOf(date));
+        if (admission != AdmissionResult.ADMITTED) {
+            ConsolePrinter.print("The bank is busy and the export could not be scheduled. Please retry later.");
+        }
+    }
+
+    //writes the balance of every account at the end of a date
+    private void writeBalancesAsOf(LocalDate date) {
+        long timestamp = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+        String fileName = "balances_as_of_" + date + ".txt";
+        SnapshotPhaseEvent computePhase = new SnapshotPhaseEvent();
+        computePhase.begin();
+        //each account's balance only needs a binary search and a short replay so the accounts are spread over the common pool
+        List<String> lines = accounts.values().parallelStream()
+                .sorted(Comparator.comparing(Account::getAccountNumber))
+                .map(account -> String.format("%s,%s,%.2f", account.getAccountNumber(), account.getAccountHolder().getUsername(), account.balanceAsOf(timestamp)))
+                .collect(Collectors.toList());
+        commitSnapshotPhase(computePhase, "balancesAsOf", "compute");
+        SnapshotPhaseEvent writePhase = new SnapshotPhaseEvent();
+        writePhase.begin();
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write("Balances as of " + date + ":\n");
+            writer.write("Account Number,Username,Balance\n");
+            for (String line : lines) {
+                writer.write(line);
+                writer.write("\n");
+            }
+            ConsolePrinter.print("Balances saved as '" + fileName + "'");
+        } catch (IOException e) {
+            ConsolePrinter.print("Error exporting balances: " + e.getMessage());
+        }
+        commitSnapshotPhase(writePhase, "balancesAsOf", "write");
+    }
+
+    //method to update the account information of a user
+    public void updateAccountInformation(Scanner scanner) {
+        try {
+            //gets the account via the account number
+            System.out.print("Enter account number: ");
+            String accountNumber = scanner.nextLine();
+            //gets the account
+            A account = accounts.get(accountNumber);
+            //if no account is found then an exception is thrown
+            if (account == null) {
+                throw new InvalidInputException("Account not found.");
+            }
+
+            //prompts user for the address and phone number
+            System.out.print("Enter new address (leave blank to keep current): ");
+            String address = scanner.nextLine();
+            if (!address.isEmpty() && !address.matches("^\\d+\\s+\\w+\\s+\\w+$")) {
+                throw new InvalidInputException("Address must be in the format: 'number word word'. Example: '123 Main Street'.");
+            }
+            System.out.print("Enter new phone number (leave blank to keep current): ");
+            String phoneNumber = scanner.nextLine();
+            validatePhoneNumber(phoneNumber);
+
+            //followers only change through replication
+            if (readOnly) {
+                throw new InvalidInputException("This bank is a read-only replica.");
+            }
+
+            //updates the address and phone number, logged under the users lock like registrations so a replica
+            //snapshot sees every user exactly as of its position in the log
+            User holder = account.getAccountHolder();
+            synchronized (users) {
+                if (!address.isEmpty()) {
+                    holder.setAddress(address);
+                }
+                if (!phoneNumber.isEmpty()) {
+                    holder.setPhoneNumber(phoneNumber);
+                }
+                publish(OperationType.UPDATE_CONTACT, 0, holder.getUsername(), address, phoneNumber);
+            }
+
+            ConsolePrinter.print("Account information updated successfully.");
+        } catch (InvalidInputException e) {
+            ConsolePrinter.print(e.getMessage());
+        }
+    }
+
+    //method to display the main CLI for the application
+    public void showMainMenu() {
+        //initializes the scanner and the admin
+        Scanner scanner = new Scanner(System.in);
+        Admin admin = new Admin(this); // Create an Admin instance with the current Bank instance
+
+        //main method for the CLI
+        while (true) {
+            //print statements for the options
+            ConsolePrinter.print("\nWelcome to the Bank Management System!");
+            ConsolePrinter.print("------------------------------------------------");
+            ConsolePrinter.print("1. Register New Customer");
+            ConsolePrinter.print("2. Open Account");
+            ConsolePrinter.print("3. Perform Transaction");
+            ConsolePrinter.print("4. View Account");
+            ConsolePrinter.print("5. Search Accounts");
+            ConsolePrinter.print("6. Generate Report");
+            ConsolePrinter.print("7. Update Account Information");
+            ConsolePrinter.print("8. Admin Actions");
+            ConsolePrinter.print("9. Exit");
+            System.out.print("\nPlease select an option (1-9): ");
+
+            try {
+                int choice = scanner.nextInt();
+                scanner.nextLine();
+
+                //switch statement that calls the respective functionality dependant on the input
+                switch (choice) {
+                    case 1:
+                        registerNewCustomer(scanner);
+                        break;
+                    case 2:
+                        openAccount(scanner);
+                        break;
+                    case 3:
+                        performTransaction(scanner);
+                        break;
+                    case 4:
+                        viewAccount(scanner);
+                        break;
+                    case 5:
+                        searchAccounts(scanner);
+                        break;
+                    case 6:
+                        generateReport();
+                        break;
+                    case 7:
+                        updateAccountInformation(scanner);
+                        break;
+                    case 8:
+                        adminActions(admin, scanner);
+                        break;
+                    case 9:
+                        //exit message and closes the scanner and program
+                        ConsolePrinter.print("Thank you for using the Bank Management System.");
+                        scanner.close();
+                        System.exit(0);
+                    default:
+                        //throws an error for an invalid option
+                        throw new InvalidInputException("Invalid option. Please select again.");
+                }
+            } catch (InputMismatchException e) {
+                //error message for a non integer input
+                ConsolePrinter.print("Invalid input. Please enter a number between 1 and 9.");
+                scanner.nextLine(); // Clear the invalid input
+            } catch (InvalidInputException e) {
+                //prints the custon exception
+                ConsolePrinter.print(e.getMessage());
+            }
+        }
+    }
+
+    // Method to register a new customer
+    private void registerNewCustomer(Scanner scanner) {
+        try {
+            //gets the customers full name
+            System.out.print("Enter customer full name: ");
+            String fullName = scanner.nextLine();
+            validateFullName(fullName);
+            //checks if it was not inputted
+            if (fullName.isEmpty()) {
+                throw new InvalidInputException("Full name is required.");
+            }
+
+            //gets a username and ensures it was passed in
+            System.out.print("Enter username: ");
+            String username = scanner.nextLine();
+            if (username.isEmpty()) {
+                throw new InvalidInputException("Username is required.");
+            }
+            //checks if the username already exists since it must be unique for the search
+            if (users.containsKey(username)) {
+                throw new InvalidInputException("Username already exists. Please choose a different username.");
+            }
+
+            //gets an address and ensrures it was passed in
+            System.out.print("Enter address: ");
+            String address = scanner.nextLine();
+            if (address.isEmpty() || !address.matches("^\\d+\\s+\\w+\\s+\\w+$")) {
+                throw new InvalidInputException("Address must be in the format: 'number word word'. Example: '123 Main Street'.");
+            }
+
+            //gets a phone number and
+            System.out.print("Enter phone number: ");
+            String phoneNumber = scanner.nextLine();
+            validatePhoneNumber(phoneNumber);
+
+            //registers the customer with the details we collected
+            registerNewCustomer(fullName, username, address, phoneNumber);
+        } catch (InvalidInputException e) {
+            //prints exception message
+            ConsolePrinter.print(e.getMessage());
+        }
+    }
+
+    // Method to register a new customer from details that were already collected
+    public void registerNewCustomer(String fullName, String username, String address, String phoneNumber) throws InvalidInputException {
+        //followers only change through replication
+        if (readOnly) {
+            throw new InvalidInputException("This bank is a read-only replica.");
+        }
+        //validates the details the same way the prompts do
+        validateFullName(fullName);
+        if (username.isEmpty()) {
+            throw new InvalidInputException("Username is required.");
+        }
+        if (address.isEmpty() || !address.matches("^\\d+\\s+\\w+\\s+\\w+$")) {
+            throw new InvalidInputException("Address must be in the format: 'number word word'. Example: '123 Main Street'.");
+        }
+        validatePhoneNumber(phoneNumber);
+
+        //creates a new User object and adds it to the users map, checking the username is still unique
+        //registrations are serialized on the users lock, and the user is only put in the map once REGISTER is logged,
+        //so openAccount, which reads the map without the lock, can never log OPEN for a user ahead of its REGISTER
+        User newUser = new User(fullName, username, address, phoneNumber);
+        synchronized (users) {
+            if (users.containsKey(username)) {
+                throw new InvalidInputException("Username already exists. Please choose a different username.");
+            }
+            publish(OperationType.REGISTER, 0, fullName, username, address, phoneNumber);
+            users.put(username, newUser);
+        }
+        ConsolePrinter.print("Customer registered successfully!");
+    }
+
+    private void validatePhoneNumber(String phoneNumber) throws InvalidInputException {
+        if (phoneNumber.length() != 10) {
+            throw new InvalidInputException("Phone number must be exactly 10 digits long. Try again.");
+        }
+
+        int digitCount = 0;
+        for (char ch : phoneNumber.toCharArray()) {
+            if (Character.isDigit(ch)) {
+                digitCount++;
+            } else {
+                throw new InvalidInputException("Phone number can only contain digits. Try again.");
+            }
+        }
+
+        if (digitCount != 10) {
+            throw new InvalidInputException("Phone number must be exactly 10 digits long. Try again.");
+        }
+    }
+
+    // Method to validate full name
+    private void validateFullName(String fullName) throws InvalidInputException {
+        if (!fullName.matches("[a-zA-Z\\s]+")) {
+            throw new InvalidInputException("Full name can only contain letters. Try again.");
+        }
+    }
+
+    // Method to open a new account
+    private void openAccount(Scanner scanner) {
+        try {
+            //gets the user name and ensures
+            System.out.print("Enter customer username: ");
+            String username = scanner.nextLine();
+
+            //checks if the user is in the users map
+            if (!this.containsUser(username)) {
+                throw new InvalidInputException("Username not found.");
+            }
+
+            //checks the account type we would like to open
+            System.out.print("Select account type (Checking/Savings): ");
+            String accountType = scanner.nextLine();
+
+            //ensures its a valid account type
+            if (!accountType.equalsIgnoreCase("checking") && !accountType.equalsIgnoreCase("savings")) {
+                throw new InvalidInputException("Must input a checking or savings account");
+            }
+
+            //initial deposit into the account
+            System.out.print("Initial deposit: ");
+            double initialDeposit = scanner.nextDouble();
+            scanner.nextLine();
+
+            //if the initial deposit is negative or 0 we throw an exception
+            if (initialDeposit <= 0) {
+                throw new InvalidInputException("Initial deposit must be greater than zero.");
+            }
+
+            //generates an account number and opens the account with the user
+            String accountNumber = generateAccountNumber();
+            openAccount(username, accountNumber, initialDeposit, accountType);
+        } catch (InputMismatchException e) {
+            //print error for exception
+            ConsolePrinter.print("Invalid input. Please enter a valid amount.");
+            scanner.nextLine(); // Clear the invalid input
+        } catch (InvalidInputException e) {
+            //prints error message
+            ConsolePrinter.print(e.getMessage());
+        }
+    }
+
+    // Method to perform a transaction
+    private void performTransaction(Scanner scanner) {
+        try {
+            //gets the account number from the user
+            System.out.print("Enter account number: ");
+            String accountNumber = scanner.nextLine();
+            //checks if the account exists with that account number
+            if (!accounts.containsKey(accountNumber)) {
+                //exception thrown
+                throw new InvalidInputException("Account number is required.");
+            }
+
+            //asks for the transaction type
+            System.out.print("Select transaction type (Deposit/Withdrawal/Transfer): ");
+            String transactionType = scanner.nextLine();
+            //check if the user inputted a valid type
+            if (!transactionType.equalsIgnoreCase("deposit") &&
+                    !transactionType.equalsIgnoreCase("withdrawal") &&
+                    !transactionType.equalsIgnoreCase("transfer")) {
+                throw new InvalidInputException("Invalid transaction type. Must be Deposit, Withdrawal, or Transfer.");
+            }
+
+            //asks for amount
+            System.out.print("Amount: ");
+            double amount = scanner.nextDouble();
+            scanner.nextLine(); // Consume newline
+
+            //checks if it is a valid amount
+            if (amount <= 0) {
+                throw new InvalidInputException("Transaction amount must be greater than zero.");
+            }
+
+            // checks if the account has enough funds in the case we are doing a transfer of withdrawal
+            if(amount > accounts.get(accountNumber).getBalance() && (transactionType.equalsIgnoreCase("withdrawal") || transactionType.equalsIgnoreCase("transfer"))){
+                throw new InvalidInputException("Insufficient funds.");
+            }
+
+            //prompts for the destination account number of a transfer
+            String destAccountNumber = null;
+            if (transactionType.equalsIgnoreCase("transfer")) {
+                System.out.print("Enter destination account number: ");
+                destAccountNumber = scanner.nextLine();
+            }
+
+            //submits the transaction as interactive work and waits for it to be applied before moving on
+            TransactionResult result = submitTransaction("console", Priority.INTERACTIVE, accountNumber, transactionType, amount, destAccountNumber).join();
+            //the result is only printed here when the transaction never ran
+            if (result.getStatus() == TransactionStatus.RETRY_LATER) {
+                ConsolePrinter.print(result.getMessage());
+            }
+
+        } catch (InputMismatchException e) {
+            ConsolePrinter.print("Invalid input. Please enter a valid amount.");
+            scanner.nextLine(); // Clear the invalid input
+        } catch (InvalidInputException e) {
+            //prints exception
+            ConsolePrinter.print(e.getMessage());
+        }
+    }
+
+    // Method to view account details
+    private void viewAccount(Scanner scanner) {
+        //prompts for the account number
+        System.out.print("Enter account number: ");
+        String accountNumber = scanner.nextLine();
+
+        viewAccount(accountNumber);
+    }
+
+    // Method to print the details and transactions of an account
+    public void viewAccount(String accountNumber) {
+        try {
+            //ensures the account exists
+            if (!accounts.containsKey(accountNumber)) {
+                throw new InvalidInputException("Account number is incorrect.");
+            }
+
+            //finds the account from the map
+            A account = accounts.get(accountNumber);
+            if (account != null) {
+                //copies the details and history under the account lock so a concurrent posting, such as one applied
+                //by the replication follower, can not change them while they are printed
+                String details;
+                List<Transaction> history;
+                synchronized (account) {
+                    details = account.toString();
+                    history = new ArrayList<>(account.getTransactions());
+                }
+                //prints account details from the toString method
+                ConsolePrinter.print("Account Details:");
+                ConsolePrinter.print(details);
+
+                //prints the transaction history from the account
+                ConsolePrinter.print("Transactions:");
+                //iterates through each transaction in the account
+                for (Transaction transaction : history) {
+                    //prints each transaction
+                    ConsolePrinter.print("- " + transaction.getTransactionType() + " $" + transaction.getAmount());
+                }
+            } else {
+                //thorws an exception if the account isn't found
+                throw new InvalidInputException("Account not found. Please check your input.");
+            }
+        } catch (InvalidInputException e) {
+            //prints custom exception
+            ConsolePrinter.print(e.getMessage());
+        }
+    }
+
+    // wrapper method to prompt user for the search term
+    private void searchAccounts(Scanner scanner) {
+        System.out.print("Enter name, username or account number to search: ");
+        String keyword = scanner.nextLine();
+
+        searchAccounts(keyword);
+    }
+
+    // Method to generate a unique account number
+    private String generateAccountNumber() {
+        //uses StringBuilder to create the account number via the Random class
+        Random random = new Random();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 9; i++) {
+            //adds a random integer one by one to create a 9 digit account number
+            sb.append(random.nextInt(10));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package BankingSystem;
+
+import java.util.Date;
+
+// CheckingAccount class representing a checking account
+class CheckingAccount extends Account<Transaction> {
+
+    // Constructor to initialize checking account details
+    public CheckingAccount(String accountNumber, User accountHolder, double balance) {
+        super(accountNumber, accountHolder, balance);
+    }
+
+    // Implement deposit method for checking account
+    @Override
+    public void deposit(double amount) {
+        if (amount > 0) {
+            balance += amount; // Increase balance by deposit amount
+            post(new Transaction(getAccountNumber(), "Deposit", amount));
+        }
+    }
+
+    // Implement withdraw method for checking account
+    @Override
+    public boolean withdraw(double amount) throws InsufficientFundsException {
+        fold(); // buffered deposits count towards the funds available
+        if (amount > 0 && amount <= balance) {
+            balance -= amount; // Decrease balance by withdrawal amount
+            post(new Transaction(getAccountNumber(), "Withdrawal", amount));
+            return true;
+        } else {
+            throw new InsufficientFundsException("Insufficient funds or invalid amount.");
+        }
+    }
+
+    //overrides method from abstract class for the initial deposit into an account
+    @Override
+    protected Transaction createInitialDepositTransaction(String accountNumber, double balance) {
+        return new Transaction(accountNumber, "Initial Deposit", balance);
+    }
+
+    //overrides method from abstract class for a deposit that was buffered while the account was hot
+    @Override
+    protected Transaction createDepositTransaction(double amount, Date date) {
+        return new Transaction(getAccountNumber(), "Deposit", amount, date);
+    }
+}
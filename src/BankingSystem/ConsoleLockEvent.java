@@ -0,0 +1,19 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for the wait on the ConsolePrinter lock
+@Name("banking.ConsoleLock")
+@Label("Console Lock")
+@Category({"Banking", "Console"})
+@Description("Time spent waiting for the ConsolePrinter lock")
+@Enabled(false)
+@StackTrace(false)
+class ConsoleLockEvent extends Event {
+}
@@ -0,0 +1,25 @@
+package BankingSystem;
+
+//class to synchronize printing to the console
+class ConsolePrinter {
+    private static volatile boolean muted; // true while output is suppressed, such as during a simulated workload
+
+    //static method for printing to the console
+    public static void print(String message) {
+        if (muted) {
+            return;
+        }
+        //records how long callers wait for the global console lock
+        ConsoleLockEvent event = new ConsoleLockEvent();
+        event.begin();
+        synchronized (ConsolePrinter.class) {
+            event.commit();
+            System.out.println(message);
+        }
+    }
+
+    //suppresses or restores console output, used by the workload simulator so it measures the bank and not the terminal
+    public static void setMuted(boolean muted) {
+        ConsolePrinter.muted = muted;
+    }
+}
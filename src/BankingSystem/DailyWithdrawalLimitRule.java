@@ -0,0 +1,23 @@
+package BankingSystem;
+
+//rejects withdrawals and transfers that would push the rolling daily total over the limit
+class DailyWithdrawalLimitRule implements TransactionRule {
+    private final double limit; // maximum amount that can leave an account per day
+
+    public DailyWithdrawalLimitRule(double limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public RuleDecision evaluate(String transactionType, double amount, AccountActivity activity, long now) {
+        if (!transactionType.equals("withdrawal") && !transactionType.equals("transfer")) {
+            return RuleDecision.ALLOW;
+        }
+        return activity.withdrawnToday(now) + amount > limit ? RuleDecision.REJECT : RuleDecision.ALLOW;
+    }
+
+    @Override
+    public String describe() {
+        return String.format("Daily withdrawal limit of $%.2f exceeded.", limit);
+    }
+}
@@ -0,0 +1,308 @@
+package BankingSystem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//writes account reports as a base report followed by a chain of delta reports
+//the writer keeps a high water mark for every account, the length and hash of its ledger when it was last
+//written, and is told which accounts have had a posting since, so a delta only visits and writes the accounts
+//that changed and only their new postings, the manifest lists the base and its deltas in order and is replaced
+//atomically so the chain on disk is always complete, compaction merges the chain into a new base
+class DeltaReportWriter {
+    private static final String MANIFEST = "manifest.txt"; // base and delta files of the current chain, in order
+    private static final String SEPARATOR = "======================================";
+
+    private final Path directory; // directory the reports are written to
+    private final Set<String> changed = ConcurrentHashMap.newKeySet(); // accounts with postings since their mark
+    private final Map<String, HighWaterMark> marks = new HashMap<>(); // ledger written so far for each account
+    private int baseNumber; // number of the current base, 0 until the first base is written
+    private final List<String> chain = new ArrayList<>(); // files of the current chain, the base first
+
+    //constructor for reports written under the given directory
+    public DeltaReportWriter(Path directory) {
+        this.directory = directory;
+    }
+
+    //notes that an account has postings the next delta should include, cheap enough to call for every posting
+    public void markChanged(String accountNumber) {
+        changed.add(accountNumber);
+    }
+
+    //writes a delta with every account changed since the last report, or a base if this process has not
+    //written one yet, returns the file written or null if no account has new postings
+    public synchronized Path writeDelta(Map<String, ? extends Account<?>> accounts, long integrityRoot) throws IOException {
+        Files.createDirectories(directory);
+        if (baseNumber == 0) {
+            return writeBase(accounts, integrityRoot);
+        }
+
+        //takes the changed accounts first so a posting made while the delta is written is left for the next one
+        List<String> accountNumbers = new ArrayList<>(changed);
+        if (accountNumbers.isEmpty()) {
+            return null;
+        }
+        changed.removeAll(accountNumbers);
+        accountNumbers.sort(null);
+
+        String fileName = String.format("delta-%05d-%05d.txt", baseNumber, chain.size());
+        Map<String, HighWaterMark> written = new HashMap<>();
+        try {
+            try (BufferedWriter writer = startFile(fileName, String.format("Accounts Delta Report: base %d, delta %d", baseNumber, chain.size()), integrityRoot)) {
+                StringBuilder sb = new StringBuilder();
+                for (String accountNumber : accountNumbers) {
+                    Account<?> account = accounts.get(accountNumber);
+                    if (account == null) {
+                        continue;
+                    }
+                    sb.setLength(0);
+                    HighWaterMark mark = renderAccount(account, marks.get(accountNumber), sb);
+                    if (mark != null) {
+                        written.put(accountNumber, mark);
+                        writer.append(sb);
+                    }
+                }
+            }
+            //every account marked was already covered, such as buffered deposits folded in while the last report
+            //was written, so no delta is added to the chain
+            if (written.isEmpty()) {
+                Files.deleteIfExists(directory.resolve(fileName + ".tmp"));
+                return null;
+            }
+            List<String> newChain = new ArrayList<>(chain);
+            newChain.add(fileName);
+            finishFile(fileName, newChain);
+            chain.add(fileName);
+        } catch (IOException e) {
+            //the accounts are written again by the next delta
+            changed.addAll(accountNumbers);
+            throw e;
+        }
+        marks.putAll(written);
+        return directory.resolve(fileName);
+    }
+
+    //merges the current base and its deltas into a new base and removes the merged files, returns the new base
+    //the merge only reads the chain on disk, so it costs as much as the chain regardless of activity since
+    public synchronized Path compact() throws IOException {
+        if (chain.size() < 2) {
+            return chain.isEmpty() ? null : directory.resolve(chain.get(0));
+        }
+        //account blocks by account number, each delta replaces the details and appends or replaces postings
+        Map<String, AccountBlock> blocks = new LinkedHashMap<>();
+        String integrityRoot = "";
+        for (String fileName : chain) {
+            List<String> lines = Files.readAllLines(directory.resolve(fileName), StandardCharsets.UTF_8);
+            int i = 0;
+            //the header of the last file has the root matching the merged state
+            for (; i < lines.size() && !lines.get(i).equals(SEPARATOR); i++) {
+                if (lines.get(i).startsWith("Integrity Root: ")) {
+                    integrityRoot = lines.get(i);
+                }
+            }
+            for (i++; i < lines.size(); i++) {
+                AccountBlock block = new AccountBlock();
+                boolean replacePostings = true;
+                for (; i < lines.size() && !lines.get(i).equals(SEPARATOR); i++) {
+                    String line = lines.get(i);
+                    if (line.startsWith("  - ")) {
+                        block.postings.add(line);
+                    } else if (line.equals("New Transactions:")) {
+                        replacePostings = false;
+                    } else if (!line.equals("Transactions:")) {
+                        block.details.add(line);
+                        if (line.startsWith("Account Number: ")) {
+                            block.accountNumber = line.substring("Account Number: ".length());
+                        }
+                    }
+                }
+                AccountBlock existing = blocks.get(block.accountNumber);
+                if (existing != null && !replacePostings) {
+                    existing.details = block.details;
+                    existing.postings.addAll(block.postings);
+                } else {
+                    blocks.put(block.accountNumber, block);
+                }
+            }
+        }
+
+        int newBase = baseNumber + 1;
+        String fileName = String.format("base-%05d.txt", newBase);
+        try (BufferedWriter writer = startFile(fileName, String.format("Accounts Report: base %d, compacted from base %d and %d deltas", newBase, baseNumber, chain.size() - 1), null)) {
+            writer.write(integrityRoot);
+            writer.write('\n');
+            writer.write(SEPARATOR);
+            writer.write('\n');
+            for (AccountBlock block : blocks.values()) {
+                for (String line : block.details) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+                writer.write("Transactions:\n");
+                for (String line : block.postings) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+                writer.write(SEPARATOR);
+                writer.write('\n');
+            }
+        }
+        List<String> merged = new ArrayList<>(chain);
+        finishFile(fileName, List.of(fileName));
+        //the merged files are only removed once the manifest no longer refers to them
+        for (String old : merged) {
+            Files.deleteIfExists(directory.resolve(old));
+        }
+        baseNumber = newBase;
+        chain.clear();
+        chain.add(fileName);
+        return directory.resolve(fileName);
+    }
+
+    //writes every account in full as a new base and starts a new chain from it
+    //the chain left by an earlier run is removed once the manifest refers to the new base instead
+    private Path writeBase(Map<String, ? extends Account<?>> accounts, long integrityRoot) throws IOException {
+        List<String> previousChain = previousChain();
+        //the base comes first in a chain and is named base-<number>.txt
+        String previousBase = previousChain.isEmpty() ? null : previousChain.get(0);
+        int newBase = previousBase == null ? 1 : Integer.parseInt(previousBase.substring("base-".length(), previousBase.indexOf('.'))) + 1;
+        String[] accountNumbers = accounts.keySet().toArray(new String[0]);
+        Arrays.sort(accountNumbers);
+        //everything is in the base, so anything marked until now is already covered
+        changed.clear();
+
+        String fileName = String.format("base-%05d.txt", newBase);
+        Map<String, HighWaterMark> written = new HashMap<>();
+        try (BufferedWriter writer = startFile(fileName, String.format("Accounts Report: base %d", newBase), integrityRoot)) {
+            StringBuilder sb = new StringBuilder();
+            for (String accountNumber : accountNumbers) {
+                Account<?> account = accounts.get(accountNumber);
+                sb.setLength(0);
+                written.put(accountNumber, renderAccount(account, null, sb));
+                writer.append(sb);
+            }
+        }
+        finishFile(fileName, List.of(fileName));
+        for (String old : previousChain) {
+            if (!old.equals(fileName)) {
+                Files.deleteIfExists(directory.resolve(old));
+            }
+        }
+        baseNumber = newBase;
+        chain.clear();
+        chain.add(fileName);
+        marks.clear();
+        marks.putAll(written);
+        return directory.resolve(fileName);
+    }
+
+    //renders an account's details and the postings after its mark, returns the account's new mark, or null
+    //without rendering anything if the ledger is exactly the marked one
+    //all of the postings are rendered if the account has no mark or its ledger no longer extends the marked one
+    private HighWaterMark renderAccount(Account<?> account, HighWaterMark mark, StringBuilder sb) {
+        synchronized (account) {
+            List<? extends Transaction> transactions = account.getTransactions();
+            long ledgerHash = account.getLedgerHash();
+            if (mark != null && mark.ledgerLength == transactions.size() && mark.ledgerHash == ledgerHash) {
+                return null;
+            }
+            int from = 0;
+            if (mark != null && mark.ledgerLength <= transactions.size()) {
+                //rolls the marked hash forward over the new postings, it only matches if the old ones are unchanged
+                long hash = mark.ledgerHash;
+                for (int i = mark.ledgerLength; i < transactions.size(); i++) {
+                    hash = LedgerHash.next(hash, transactions.get(i));
+                }
+                if (hash == ledgerHash) {
+                    from = mark.ledgerLength;
+                }
+            }
+
+            sb.append("Owner: ").append(account.getAccountHolder().getFullName()).append('\n');
+            sb.append("Account Number: ").append(account.getAccountNumber()).append('\n');
+            sb.append("Type: ").append(account.getClass().getSimpleName()).append('\n');
+            sb.append(String.format("Balance: %.2f\n", account.getBalance()));
+            sb.append(from == 0 ? "Transactions:\n" : "New Transactions:\n");
+            for (int i = from; i < transactions.size(); i++) {
+                Transaction transaction = transactions.get(i);
+                sb.append(String.format("  - %s: %.2f on %s\n", transaction.getTransactionType(), transaction.getAmount(), transaction.getDate()));
+            }
+            sb.append(SEPARATOR).append('\n');
+            return new HighWaterMark(transactions.size(), ledgerHash);
+        }
+    }
+
+    //opens the temporary file for a report and writes its header, the root is left for the caller if null
+    private BufferedWriter startFile(String fileName, String title, Long integrityRoot) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(directory.resolve(fileName + ".tmp"), StandardCharsets.UTF_8);
+        writer.write(title);
+        writer.write('\n');
+        writer.write("Generated: " + new Date() + "\n");
+        if (integrityRoot != null) {
+            writer.write(String.format("Integrity Root: %016x\n", integrityRoot));
+            writer.write(SEPARATOR);
+            writer.write('\n');
+        }
+        return writer;
+    }
+
+    //moves a finished report into place and then replaces the manifest with the given chain
+    private void finishFile(String fileName, List<String> newChain) throws IOException {
+        Files.move(directory.resolve(fileName + ".tmp"), directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < newChain.size(); i++) {
+            sb.append(i == 0 ? "base " : "delta ").append(newChain.get(i)).append('\n');
+        }
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        Files.writeString(temp, sb, StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    //files of the current chain, or of the chain in the manifest left by an earlier run, the base first
+    //the marks are only kept in memory, so a new run starts a new chain rather than continuing the old one
+    private List<String> previousChain() throws IOException {
+        if (baseNumber != 0) {
+            return new ArrayList<>(chain);
+        }
+        List<String> previous = new ArrayList<>();
+        Path manifest = directory.resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                if (line.startsWith("base ") || line.startsWith("delta ")) {
+                    previous.add(line.substring(line.indexOf(' ') + 1));
+                }
+            }
+        }
+        return previous;
+    }
+
+    //ledger length and hash of an account when it was last written
+    private static final class HighWaterMark {
+        final int ledgerLength;
+        final long ledgerHash;
+
+        HighWaterMark(int ledgerLength, long ledgerHash) {
+            this.ledgerLength = ledgerLength;
+            this.ledgerHash = ledgerHash;
+        }
+    }
+
+    //an account's lines in a report, used while compacting
+    private static final class AccountBlock {
+        String accountNumber = "";
+        List<String> details = new ArrayList<>();
+        final List<String> postings = new ArrayList<>();
+    }
+}
@@ -0,0 +1,158 @@
+package BankingSystem;
+
+import java.util.Arrays;
+
+//striped deposit buffers for a hot account, in the style of LongAdder
+//each thread deposits into one of several stripes chosen from its thread id, so concurrent depositors rarely
+//share a lock, the account folds every stripe into its authoritative balance and ledger when it needs an exact
+//value (a withdrawal, transfer out, view, report and so on) and the bank folds it in the background at a fixed interval
+class DepositStripes {
+    private static final int INDEX_BITS = 24; // bits of a sort key used for the index, allows 16 million deposits per fold
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final Stripe[] stripes;
+    private final int mask; // stripes.length - 1, the length is a power of two
+
+    //pending deposits merged from every stripe while folding, only used under the account lock
+    private long[] mergedTimes = new long[64];
+    private double[] mergedAmounts = new double[64];
+    private int mergedSize;
+    private boolean truncated; // true if the last drain left deposits behind because it was full
+
+    //constructor with at least two stripes per core so threads seldom collide
+    public DepositStripes() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int count = Integer.highestOneBit(cores * 2 - 1) << 1; // twice the next power of two of the core count
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        mask = count - 1;
+    }
+
+    //buffers a deposit in the calling thread's stripe, returns false if the stripes have been closed
+    public boolean add(double amount, long time) {
+        Stripe stripe = stripes[(int) LedgerHash.mix(Thread.currentThread().getId()) & mask];
+        synchronized (stripe) {
+            if (stripe.closed) {
+                return false;
+            }
+            stripe.append(amount, time);
+        }
+        return true;
+    }
+
+    //true if any stripe has a deposit that has not been folded, checked without taking any lock
+    public boolean hasPending() {
+        for (Stripe stripe : stripes) {
+            if (stripe.size != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //moves every buffered deposit into the merge buffer and sorts it by time, returns the number of deposits
+    //the caller must hold the account lock and read them back with timeAt and amountAt
+    public int drain() {
+        mergedSize = 0;
+        truncated = false;
+        for (Stripe stripe : stripes) {
+            if (stripe.size == 0) {
+                continue;
+            }
+            //leaves the stripe for another drain if this one is already as large as a sort key can index
+            if (mergedSize + stripe.size > INDEX_MASK) {
+                truncated = true;
+                continue;
+            }
+            synchronized (stripe) {
+                ensureMergedCapacity(mergedSize + stripe.size);
+                System.arraycopy(stripe.times, 0, mergedTimes, mergedSize, stripe.size);
+                System.arraycopy(stripe.amounts, 0, mergedAmounts, mergedSize, stripe.size);
+                mergedSize += stripe.size;
+                stripe.size = 0;
+            }
+        }
+        sortMerged();
+        return mergedSize;
+    }
+
+    //true if the last drain stopped early and should be followed by another
+    public boolean wasTruncated() {
+        return truncated;
+    }
+
+    //stops accepting deposits, anything already buffered still has to be drained
+    public void close() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.closed = true;
+            }
+        }
+    }
+
+    public long timeAt(int index) {
+        return mergedTimes[index];
+    }
+
+    public double amountAt(int index) {
+        return mergedAmounts[index];
+    }
+
+    private void ensureMergedCapacity(int capacity) {
+        if (capacity > mergedTimes.length) {
+            int newLength = Math.max(capacity, mergedTimes.length * 2);
+            mergedTimes = Arrays.copyOf(mergedTimes, newLength);
+            mergedAmounts = Arrays.copyOf(mergedAmounts, newLength);
+        }
+    }
+
+    //sorts the merged deposits by time using a single primitive sort
+    //each key packs the time relative to the earliest deposit above the deposit's index
+    private void sortMerged() {
+        if (mergedSize < 2) {
+            return;
+        }
+        long earliest = Long.MAX_VALUE;
+        for (int i = 0; i < mergedSize; i++) {
+            earliest = Math.min(earliest, mergedTimes[i]);
+        }
+        long[] keys = new long[mergedSize];
+        for (int i = 0; i < mergedSize; i++) {
+            keys[i] = ((mergedTimes[i] - earliest) << INDEX_BITS) | i;
+        }
+        Arrays.sort(keys);
+        long[] sortedTimes = new long[mergedTimes.length];
+        double[] sortedAmounts = new double[mergedAmounts.length];
+        for (int i = 0; i < mergedSize; i++) {
+            int index = (int) (keys[i] & INDEX_MASK);
+            sortedTimes[i] = mergedTimes[index];
+            sortedAmounts[i] = mergedAmounts[index];
+        }
+        mergedTimes = sortedTimes;
+        mergedAmounts = sortedAmounts;
+    }
+
+    //a single stripe, padded so neighbouring stripes do not share a cache line
+    private static final class Stripe {
+        long p1, p2, p3, p4, p5, p6, p7;
+        private long[] times = new long[16]; // time of each buffered deposit
+        private double[] amounts = new double[16]; // amount of each buffered deposit
+        private volatile int size; // number of buffered deposits
+        private boolean closed; // set once the account leaves hot mode
+        long q1, q2, q3, q4, q5, q6, q7;
+
+        //appends a deposit, growing the buffers if needed, caller holds the stripe lock
+        void append(double amount, long time) {
+            int n = size;
+            if (n == times.length) {
+                times = Arrays.copyOf(times, n * 2);
+                amounts = Arrays.copyOf(amounts, n * 2);
+            }
+            times[n] = time;
+            amounts[n] = amount;
+            size = n + 1;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package BankingSystem;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+//benchmark of deposit throughput into a single account as the number of threads grows
+//each thread count is measured twice, with the account locked for every deposit and with it in hot mode, and at
+//two levels: depositing into the account directly, which isolates the lock against the stripes, and submitting
+//keyed deposits to a bank, which adds the idempotency cache, admission control and the rules on top
+//every deposit stays in the account's ledger, so each measurement makes a fixed number of them split across the threads
+//run with: java BankingSystem.HotAccountBenchmark [max threads] [deposits per measurement]
+class HotAccountBenchmark {
+    private static final int PIPELINE = 64; // deposits each bank client keeps in flight
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int deposits = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        ConsolePrinter.print(String.format("Deposits per second into one account, %d deposits per measurement, %d cores",
+                deposits, Runtime.getRuntime().availableProcessors()));
+        //the bank's own messages would measure the terminal, so only the results are printed
+        ConsolePrinter.setMuted(true);
+
+        //warm up so the JIT has compiled both paths before we measure them
+        for (boolean hot : new boolean[]{false, true}) {
+            runAccount(maxThreads, hot, deposits);
+            runBank(maxThreads, hot, deposits);
+        }
+
+        print(String.format("%-8s %14s %14s %14s %14s", "Threads", "account lock", "account hot", "bank lock", "bank hot"));
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            print(String.format("%-8d %14.0f %14.0f %14.0f %14.0f", threads,
+                    runAccount(threads, false, deposits), runAccount(threads, true, deposits),
+                    runBank(threads, false, deposits), runBank(threads, true, deposits)));
+        }
+        //savings accounts and the banks' workers are left running, so the process is ended explicitly
+        System.exit(0);
+    }
+
+    //writes a line of the results while the bank's own output is muted
+    private static void print(String line) {
+        System.out.println(line);
+    }
+
+    //deposits straight into a checking account from the given number of threads, returns deposits per second
+    private static double runAccount(int threads, boolean hot, int deposits) throws InterruptedException {
+        CheckingAccount account = new CheckingAccount("800000001", new User("Bench Mark", "bench", "1 Main Street", "0123456789"), 0);
+        if (hot) {
+            account.enableHotMode();
+        }
+        int perThread = deposits / threads;
+        long start = System.nanoTime();
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                for (int count = 0; count < perThread; count++) {
+                    if (!account.depositStriped(1)) {
+                        synchronized (account) {
+                            account.deposit(1);
+                        }
+                    }
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        //the fold posts every buffered deposit, so it is part of the cost of hot mode
+        double balance = account.getBalance();
+        long elapsed = System.nanoTime() - start;
+        return checked(balance, (long) perThread * threads) / (elapsed / 1e9);
+    }
+
+    //returns the number of deposits made after checking that none of them was lost
+    private static long checked(double balance, long made) {
+        if (balance != made) {
+            throw new IllegalStateException("Balance " + balance + " does not match " + made + " deposits.");
+        }
+        return made;
+    }
+
+    //submits keyed deposits to a bank from the given number of clients, served by as many admission workers,
+    //returns completed deposits per second
+    private static double runBank(int threads, boolean hot, int deposits) throws Exception {
+        //the queue holds every client's pipeline so no deposit is shed
+        Bank<Account<Transaction>> bank = new Bank<>(new AdmissionController(threads, PIPELINE * threads, 1, 1,
+                Double.MAX_VALUE, Double.MAX_VALUE));
+        bank.setHotAccountThreshold(0);
+        bank.registerNewCustomer("Bench Mark", "bench", "1 Main Street", "0123456789");
+        bank.openAccount("bench", "800000001", 0, "checking");
+        bank.setHotAccount("800000001", hot);
+
+        LongAdder completed = new LongAdder();
+        int perClient = deposits / threads;
+        long start = System.nanoTime();
+        Thread[] clients = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            String clientId = "client-" + i;
+            clients[i] = new Thread(() -> {
+                ArrayDeque<CompletableFuture<TransactionResult>> inFlight = new ArrayDeque<>();
+                int sent = 0;
+                while (sent < perClient || !inFlight.isEmpty()) {
+                    if (inFlight.size() < PIPELINE && sent < perClient) {
+                        inFlight.add(bank.submitTransaction(clientId, clientId + "-" + sent++, Priority.INTERACTIVE,
+                                "800000001", "deposit", 1, null));
+                    } else if (inFlight.poll().join().getStatus() == TransactionStatus.COMPLETED) {
+                        completed.increment();
+                    }
+                }
+            });
+            clients[i].start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        double balance = bank.getAccounts().get("800000001").getBalance();
+        long elapsed = System.nanoTime() - start;
+        bank.getAdmissionController().shutdown();
+        return checked(balance, completed.sum()) / (elapsed / 1e9);
+    }
+}
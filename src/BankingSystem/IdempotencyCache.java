@@ -0,0 +1,208 @@
+package BankingSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//bounded cache of recent transactions by their client supplied idempotency key
+//keys belong to the client that sent them, so two clients that happen to pick the same key never see each
+//other's transactions, a repeated key from the same client gets the future of the original transaction, so a client can retry or pipeline requests without
+//a transaction ever being applied twice, entries are kept in a hash map for O(1) lookups and in a ring in the
+//order they were added, a new entry takes the ring slot of the oldest one and drops it from the map, so the size
+//is bounded without any scan, and every insert also steps the expiry cursor over at most a couple of old slots,
+//so expired entries are dropped a little at a time rather than by a sweep that would stall the transaction path
+//an entry whose transaction has not finished is never dropped, it takes the next ring slot in turn instead
+//a key is remembered for the time to live or until capacity newer keys have been added, whichever comes first,
+//so the capacity should be the time to live times the rate of keyed requests, see capacityFor
+class IdempotencyCache {
+    private static final int SWEEP_STEPS = 2; // expired slots an insert may clear
+    private static final long DEFAULT_TIME_TO_LIVE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 100; // keyed requests a second the default size covers
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Entry>> entries; // live entries by client and idempotency key
+    private final AtomicReferenceArray<Entry> ring; // entries in the order they were added
+    private final int mask; // ring length - 1, the length is a power of two
+    private final long timeToLiveNanos; // how long an entry is kept after it was added
+    private final AtomicLong nextSequence = new AtomicLong(); // sequence of the next entry added to the ring
+    private final AtomicLong expiryCursor = new AtomicLong(); // sequence of the oldest entry that may still be live
+    private final LongAdder duplicates = new LongAdder(); // lookups that found an earlier transaction
+    private final LongAdder evictions = new LongAdder(); // entries dropped for size or age
+    private volatile long evictedForSizeAgeNanos = -1; // age of the last entry dropped for size, -1 if none has been
+
+    //constructor with the default lifetime of ten minutes, sized for 100 keyed requests a second (65536 entries)
+    //at a higher rate keys are dropped for size sooner, toString reports how long they actually last
+    public IdempotencyCache() {
+        this(capacityFor(DEFAULT_REQUESTS_PER_SECOND, DEFAULT_TIME_TO_LIVE_NANOS), DEFAULT_TIME_TO_LIVE_NANOS);
+    }
+
+    //constructor for a cache holding at most capacity entries, rounded up to a power of two, each for timeToLiveNanos
+    //the capacity must be well above the number of requests clients keep in flight
+    public IdempotencyCache(int capacity, long timeToLiveNanos) {
+        int length = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(length);
+        this.mask = length - 1;
+        this.entries = new ConcurrentHashMap<>();
+        this.timeToLiveNanos = timeToLiveNanos;
+    }
+
+    //capacity that keeps every key for the whole time to live at the given rate of keyed requests
+    public static int capacityFor(double requestsPerSecond, long timeToLiveNanos) {
+        return (int) Math.min(1 << 30, Math.ceil(requestsPerSecond * timeToLiveNanos / 1e9));
+    }
+
+    //live entry for a client's key, or null if there is none or it has expired, allocates nothing
+    public Entry get(String clientId, String idempotencyKey) {
+        ConcurrentHashMap<String, Entry> keys = entries.get(clientId);
+        Entry entry = keys == null ? null : keys.get(idempotencyKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime(), timeToLiveNanos)) {
+            if (keys.remove(idempotencyKey, entry)) {
+                evictions.increment();
+            }
+            return null;
+        }
+        duplicates.increment();
+        return entry;
+    }
+
+    //adds an entry unless its client's key already has a live one, returns null if added or else the live entry
+    public Entry putIfAbsent(Entry entry) {
+        ConcurrentHashMap<String, Entry> keys = entries.computeIfAbsent(entry.clientId, key -> new ConcurrentHashMap<>());
+        while (true) {
+            Entry existing = keys.putIfAbsent(entry.idempotencyKey, entry);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.isExpired(entry.created, timeToLiveNanos)) {
+                duplicates.increment();
+                return existing;
+            }
+            //the key was used long enough ago that it counts as new
+            if (keys.remove(existing.idempotencyKey, existing)) {
+                evictions.increment();
+            }
+        }
+
+        //takes the next ring slot, the entry it displaces is the oldest one and leaves the map, unless its transaction
+        //is still running, then it takes the next slot in turn, only a ring smaller than the requests in flight can be
+        //full of running transactions, then the oldest is dropped anyway rather than moving entries round forever
+        Entry placing = entry;
+        for (int moved = 0; ; moved++) {
+            long sequence = nextSequence.getAndIncrement();
+            placing.sequence = sequence;
+            Entry displaced = ring.getAndSet((int) (sequence & mask), placing);
+            if (displaced == null) {
+                break;
+            }
+            if (!displaced.result.isDone() && moved <= mask) {
+                placing = displaced;
+                continue;
+            }
+            if (drop(displaced)) {
+                evictions.increment();
+                evictedForSizeAgeNanos = entry.created - displaced.created;
+            }
+            break;
+        }
+        sweep(entry.created);
+        return null;
+    }
+
+    //drops an entry before its time, used when a transaction was not admitted so a retry with the same key is new
+    public void remove(Entry entry) {
+        drop(entry);
+    }
+
+    //removes an entry from its client's keys if it is still there, returns false if it was already gone
+    //a client's map is kept once made since clients are few compared to their keys
+    private boolean drop(Entry entry) {
+        ConcurrentHashMap<String, Entry> keys = entries.get(entry.clientId);
+        return keys != null && keys.remove(entry.idempotencyKey, entry);
+    }
+
+    //steps the expiry cursor over at most SWEEP_STEPS of the oldest slots, dropping them if they have expired
+    //the cursor only moves by compare and set so concurrent inserts never clear the same slot twice
+    private void sweep(long now) {
+        for (int i = 0; i < SWEEP_STEPS; i++) {
+            long cursor = expiryCursor.get();
+            if (cursor >= nextSequence.get()) {
+                return;
+            }
+            Entry entry = ring.get((int) (cursor & mask));
+            //a slot that already holds a newer entry was freed for size, so the cursor only needs to pass it
+            boolean overwritten = entry == null || entry.sequence != cursor;
+            if (!overwritten && !entry.isExpired(now, timeToLiveNanos)) {
+                return;
+            }
+            if (expiryCursor.compareAndSet(cursor, cursor + 1) && !overwritten) {
+                ring.compareAndSet((int) (cursor & mask), entry, null);
+                if (drop(entry)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    //number of live entries
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Entry> keys : entries.values()) {
+            size += keys.size();
+        }
+        return size;
+    }
+
+    //summary of the cache for monitoring, including how long keys last once they are dropped for size
+    @Override
+    public String toString() {
+        long evictedAge = evictedForSizeAgeNanos;
+        return String.format("Idempotency cache: %d entries, %d duplicates answered, %d evicted, keys kept %s", size(), duplicates.sum(), evictions.sum(),
+                evictedAge < 0 ? String.format("%.0f s", timeToLiveNanos / 1e9) : String.format("%.1f s before being dropped for size", evictedAge / 1e9));
+    }
+
+    //a transaction remembered by its idempotency key along with the request it was made with
+    static final class Entry {
+        private final String idempotencyKey;
+        private final String clientId;
+        private final String accountNumber;
+        private final String transactionType;
+        private final double amount;
+        private final String destAccountNumber;
+        private final long created; // System.nanoTime when the entry was made
+        private final CompletableFuture<TransactionResult> result = new CompletableFuture<>();
+        private volatile long sequence; // position in the ring, moves on if the entry takes another slot
+
+        Entry(String idempotencyKey, String clientId, String accountNumber, String transactionType, double amount, String destAccountNumber) {
+            this.idempotencyKey = idempotencyKey;
+            this.clientId = clientId;
+            this.accountNumber = accountNumber;
+            this.transactionType = transactionType;
+            this.amount = amount;
+            this.destAccountNumber = destAccountNumber;
+            this.created = System.nanoTime();
+        }
+
+        //future completed with the result of the original transaction
+        public CompletableFuture<TransactionResult> getResult() {
+            return result;
+        }
+
+        //true if a repeated request from the same client is the same transaction as this one, a reused key for
+        //anything else is an error
+        public boolean matches(String accountNumber, String transactionType, double amount, String destAccountNumber) {
+            return this.accountNumber.equals(accountNumber)
+                    && this.transactionType.equalsIgnoreCase(transactionType) && this.amount == amount
+                    && (this.destAccountNumber == null ? destAccountNumber == null : this.destAccountNumber.equals(destAccountNumber));
+        }
+
+        //an entry only expires once its transaction has finished, a retry of a running transaction must find it
+        boolean isExpired(long now, long timeToLiveNanos) {
+            return now - created > timeToLiveNanos && result.isDone();
+        }
+    }
+}
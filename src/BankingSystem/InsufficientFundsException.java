@@ -0,0 +1,8 @@
+package BankingSystem;
+
+//custom exception for insufficient funds for a transaction
+class InsufficientFundsException extends Exception {
+    public InsufficientFundsException(String message) {
+        super(message);
+    }
+}
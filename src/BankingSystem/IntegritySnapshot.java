@@ -0,0 +1,136 @@
+package BankingSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//point in time copy of a Merkle tree, two snapshots (live and backup, or two replicas) can be compared
+//by only descending into subtrees whose hashes differ, a snapshot can be saved to a file and loaded on
+//another node, so replicas are compared by exchanging snapshot files rather than their ledgers
+class IntegritySnapshot {
+    private final long[] nodes; // heap layout as in MerkleTree
+    private final int leafCount; // number of leaves
+    private final List<Map<String, Long>> leafHashes; // ledger hash of each account, grouped by leaf
+
+    public IntegritySnapshot(long[] nodes, int leafCount, List<Map<String, Long>> leafHashes) {
+        this.nodes = nodes;
+        this.leafCount = leafCount;
+        this.leafHashes = leafHashes;
+    }
+
+    //number of leaves of the tree the snapshot was taken from
+    int leafCount() {
+        return leafCount;
+    }
+
+    public long root() {
+        return nodes[1];
+    }
+
+    //hash of a node in heap layout
+    long node(int index) {
+        return nodes[index];
+    }
+
+    //ledger hashes of the accounts in a leaf
+    Map<String, Long> leafHashes(int leaf) {
+        return leafHashes.get(leaf);
+    }
+
+    //account numbers whose ledgers differ between the two snapshots, including accounts only one of them has
+    public List<String> divergentAccounts(IntegritySnapshot other) {
+        if (leafCount != other.leafCount) {
+            throw new IllegalArgumentException("Snapshots were taken from trees of different sizes.");
+        }
+        List<String> divergent = new ArrayList<>();
+        collect(other, 1, divergent);
+        return divergent;
+    }
+
+    //descends into the children of a node only if its hash differs
+    private void collect(IntegritySnapshot other, int node, List<String> divergent) {
+        if (nodes[node] == other.nodes[node]) {
+            return;
+        }
+        if (node < leafCount) {
+            collect(other, 2 * node, divergent);
+            collect(other, 2 * node + 1, divergent);
+            return;
+        }
+        //a differing leaf, compares only the accounts that fall into it
+        Map<String, Long> mine = leafHashes.get(node - leafCount);
+        Map<String, Long> theirs = other.leafHashes.get(node - leafCount);
+        for (Map.Entry<String, Long> entry : mine.entrySet()) {
+            if (!entry.getValue().equals(theirs.get(entry.getKey()))) {
+                divergent.add(entry.getKey());
+            }
+        }
+        for (String accountNumber : theirs.keySet()) {
+            if (!mine.containsKey(accountNumber)) {
+                divergent.add(accountNumber);
+            }
+        }
+    }
+
+    //writes the snapshot to a stream, the nodes first and then the ledger hashes of each leaf
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(leafCount);
+        for (int i = 1; i < nodes.length; i++) {
+            out.writeLong(nodes[i]);
+        }
+        for (Map<String, Long> hashes : leafHashes) {
+            out.writeInt(hashes.size());
+            for (Map.Entry<String, Long> entry : hashes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+    }
+
+    //reads a snapshot written by write
+    public static IntegritySnapshot read(DataInputStream in) throws IOException {
+        int leafCount = in.readInt();
+        if (leafCount < 1 || Integer.bitCount(leafCount) != 1) {
+            throw new IOException("Not an integrity snapshot, leaf count " + leafCount + " is not a power of two.");
+        }
+        long[] nodes = new long[leafCount * 2];
+        for (int i = 1; i < nodes.length; i++) {
+            nodes[i] = in.readLong();
+        }
+        List<Map<String, Long>> leafHashes = new ArrayList<>(leafCount);
+        for (int leaf = 0; leaf < leafCount; leaf++) {
+            int size = in.readInt();
+            Map<String, Long> hashes = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                hashes.put(in.readUTF(), in.readLong());
+            }
+            leafHashes.add(hashes);
+        }
+        return new IntegritySnapshot(nodes, leafCount, leafHashes);
+    }
+
+    //saves the snapshot to a file, written to a temporary file first so a partial snapshot is never left behind
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            write(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    //loads a snapshot saved by save
+    public static IntegritySnapshot load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return read(in);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package BankingSystem;
+
+//class to apply interest to a savings account on a specified interval
+class InterestApplicator implements Runnable {
+    //acount interest is being applied to
+    private SavingsAccount account;
+
+    //constructor to get the instance of the savings account
+    public InterestApplicator(SavingsAccount account) {
+        this.account = account;
+    }
+
+    //implementation of the run method for thread execution
+    @Override
+    public void run() {
+        InterestEvent event = new InterestEvent();
+        event.begin();
+        account.addInterest();
+        event.end();
+        if (event.shouldCommit()) {
+            event.accountNumber = account.getAccountNumber();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for scheduled interest being applied to a savings account
+@Name("banking.Interest")
+@Label("Interest")
+@Category({"Banking", "Interest"})
+@Description("Scheduled interest being applied to a savings account, including the wait for its monitor")
+@Enabled(false)
+@StackTrace(false)
+class InterestEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+}
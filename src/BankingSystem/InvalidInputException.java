@@ -0,0 +1,8 @@
+package BankingSystem;
+
+// custom exception for an invalid input
+class InvalidInputException extends Exception {
+    public InvalidInputException(String message) {
+        super(message);
+    }
+}
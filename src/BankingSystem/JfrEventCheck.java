@@ -0,0 +1,102 @@
+package BankingSystem;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+//checks that banking.jfc turns on every banking event and that each of them is actually emitted
+//starts a recording with the profile, runs a few transactions, an interest posting, an integrity snapshot and
+//a delta report written to a temporary directory, then reads the recording back and exits with status 1 if any
+//banking event type is missing from it
+//run with: java BankingSystem.JfrEventCheck [path to banking.jfc]
+class JfrEventCheck {
+    private static final List<String> EVENT_TYPES = List.of(
+            "banking.TransactionSubmit",
+            "banking.TransactionLockAcquired",
+            "banking.TransactionApplied",
+            "banking.TransactionCompleted",
+            "banking.ConsoleLock",
+            "banking.ReportPhase",
+            "banking.Interest",
+            "banking.SnapshotPhase");
+
+    public static void main(String[] args) throws Exception {
+        Path settings = Paths.get(args.length > 0 ? args[0] : "src/BankingSystem/banking.jfc");
+        Path reports = Files.createTempDirectory("banking-reports");
+        //a single general worker runs the report queue in order, so a task queued after the report runs after it
+        Bank<Account<Transaction>> bank = new Bank<>(new AdmissionController(2, 1000, 10_000, 4, Double.MAX_VALUE, Double.MAX_VALUE), reports);
+        Path output = Files.createTempFile("banking", ".jfr");
+        List<String> missing = new ArrayList<>();
+        try {
+            try (Recording recording = new Recording(Configuration.create(settings))) {
+                recording.start();
+                exercise(bank);
+                recording.stop();
+                recording.dump(output);
+            }
+
+            Set<String> recorded = new HashSet<>();
+            try (RecordingFile file = new RecordingFile(output)) {
+                while (file.hasMoreEvents()) {
+                    recorded.add(file.readEvent().getEventType().getName());
+                }
+            }
+            for (String eventType : EVENT_TYPES) {
+                if (!recorded.contains(eventType)) {
+                    missing.add(eventType);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(output);
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(reports)) {
+                //the reports come before the directory holding them
+                files = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        if (!missing.isEmpty()) {
+            ConsolePrinter.print("Missing banking events: " + String.join(", ", missing));
+            System.exit(1);
+        }
+        ConsolePrinter.print("All " + EVENT_TYPES.size() + " banking event types were recorded.");
+        //savings accounts keep their interest schedulers running
+        System.exit(0);
+    }
+
+    //runs every kind of work that emits a banking event and waits for it to finish
+    private static void exercise(Bank<Account<Transaction>> bank) throws Exception {
+        bank.registerNewCustomer("Jane Doe", "jfrcheck", "1 Main Street", "0123456789");
+        bank.openAccount("jfrcheck", "900000001", 500, "checking");
+        bank.openAccount("jfrcheck", "900000002", 500, "savings");
+
+        bank.submitTransaction("jfrcheck", Priority.INTERACTIVE, "900000001", "deposit", 50, null).join();
+        bank.submitTransaction("jfrcheck", Priority.INTERACTIVE, "900000001", "withdrawal", 20, null).join();
+        bank.submitTransaction("jfrcheck", Priority.INTERACTIVE, "900000001", "transfer", 30, "900000002").join();
+
+        //runs the interest task directly rather than waiting for its schedule
+        new InterestApplicator((SavingsAccount) bank.getAccounts().get("900000002")).run();
+        bank.snapshotIntegrity();
+
+        bank.generateDeltaReport();
+        CountDownLatch reportDone = new CountDownLatch(1);
+        if (bank.getAdmissionController().submit("jfrcheck", Priority.REPORT, reportDone::countDown) != AdmissionResult.ADMITTED
+                || !reportDone.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The report did not finish.");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package BankingSystem;
+
+//flags (or rejects) any single transaction above a threshold
+class LargeTransactionRule implements TransactionRule {
+    private final double threshold; // amount above which a transaction is considered large
+    private final RuleDecision decision; // decision returned for large transactions
+
+    public LargeTransactionRule(double threshold, RuleDecision decision) {
+        this.threshold = threshold;
+        this.decision = decision;
+    }
+
+    @Override
+    public RuleDecision evaluate(String transactionType, double amount, AccountActivity activity, long now) {
+        return amount > threshold ? decision : RuleDecision.ALLOW;
+    }
+
+    @Override
+    public String describe() {
+        return String.format("Transaction above $%.2f.", threshold);
+    }
+}
@@ -0,0 +1,33 @@
+package BankingSystem;
+
+//64 bit hash helpers for ledger integrity checks
+//these detect corruption and divergence between copies, they are not cryptographic
+final class LedgerHash {
+    private LedgerHash() {
+    }
+
+    //finalizer from splitmix64, spreads every input bit over the whole output
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    //rolling ledger hash after appending a posting, the date is left out so replicas that
+    //applied the same postings at slightly different times still agree
+    public static long next(long previous, Transaction transaction) {
+        long posting = mix(transaction.getTransactionType().hashCode() * 0x9e3779b97f4a7c15L
+                ^ Double.doubleToLongBits(transaction.getAmount()));
+        return mix(previous ^ posting);
+    }
+
+    //contribution of an account to its Merkle leaf, ties the ledger hash to the account number
+    public static long contribution(String accountNumber, long ledgerHash) {
+        return mix(accountNumber.hashCode() * 0x9e3779b97f4a7c15L ^ ledgerHash);
+    }
+
+    //hash of an inner Merkle node from its two children
+    public static long combine(long left, long right) {
+        return mix(left * 31 + mix(right));
+    }
+}
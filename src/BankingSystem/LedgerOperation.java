@@ -0,0 +1,70 @@
+package BankingSystem;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+//a single committed operation in the replication log
+class LedgerOperation {
+    private long sequence; // position in the log, assigned when the operation is appended on the primary
+    private final OperationType type; // type of the operation
+    private final double amount; // amount of money involved, 0 if none
+    private final String[] args; // string arguments, see OperationType
+
+    // Constructor to initialize the operation details
+    public LedgerOperation(OperationType type, double amount, String... args) {
+        this.type = type;
+        this.amount = amount;
+        this.args = args;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public OperationType getType() {
+        return type;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String arg(int index) {
+        return args[index];
+    }
+
+    //writes the operation to a replication stream
+    public void write(DataOutputStream out) throws IOException {
+        out.writeLong(sequence);
+        out.writeByte(type.ordinal());
+        out.writeDouble(amount);
+        out.writeByte(args.length);
+        for (String arg : args) {
+            out.writeUTF(arg);
+        }
+    }
+
+    //reads an operation written by write
+    public static LedgerOperation read(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        OperationType type = OperationType.values()[in.readByte()];
+        double amount = in.readDouble();
+        String[] args = new String[in.readByte()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = in.readUTF();
+        }
+        LedgerOperation operation = new LedgerOperation(type, amount, args);
+        operation.setSequence(sequence);
+        return operation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s %.2f %s", sequence, type, amount, String.join(" ", args));
+    }
+}
@@ -0,0 +1,83 @@
+package BankingSystem;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//rules engine that evaluates the configured rule set against per account activity
+class LimitChecker {
+    //rule set is swapped as a whole so evaluation never needs a lock
+    private volatile TransactionRule[] rules;
+    //activity counters for each account, created the first time an account transacts
+    private final ConcurrentHashMap<String, AccountActivity> activity = new ConcurrentHashMap<>();
+    //number of transactions that were flagged for review
+    private final AtomicLong flaggedCount = new AtomicLong();
+    //number of transactions that were rejected by a rule
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    //constructor with the rule set to evaluate
+    public LimitChecker(List<TransactionRule> rules) {
+        setRules(rules);
+    }
+
+    //default rules used by the bank
+    public static List<TransactionRule> defaultRules() {
+        return List.of(
+                new DailyWithdrawalLimitRule(5000),
+                new TransferRateRule(10),
+                new LargeTransactionRule(10000, RuleDecision.FLAG));
+    }
+
+    //replaces the rule set used for future transactions
+    public void setRules(List<TransactionRule> rules) {
+        this.rules = rules.toArray(new TransactionRule[0]);
+    }
+
+    //gets the activity counters for an account
+    public AccountActivity activityFor(String accountNumber) {
+        return activity.computeIfAbsent(accountNumber, key -> new AccountActivity());
+    }
+
+    //evaluates every rule, throwing if any of them rejects the transaction
+    //returns the first rule that flagged it, or null if every rule allowed it, nothing is reported for a flag
+    //until the transaction has been applied, since it may still fail or be rejected by a later rule
+    public TransactionRule check(String accountNumber, String transactionType, double amount) throws TransactionRejectedException {
+        AccountActivity accountActivity = activityFor(accountNumber);
+        long now = System.currentTimeMillis();
+        TransactionRule flaggedBy = null;
+        for (TransactionRule rule : rules) {
+            RuleDecision decision = rule.evaluate(transactionType, amount, accountActivity, now);
+            if (decision == RuleDecision.REJECT) {
+                rejectedCount.incrementAndGet();
+                throw new TransactionRejectedException("Transaction rejected: " + rule.describe());
+            }
+            if (decision == RuleDecision.FLAG && flaggedBy == null) {
+                flaggedBy = rule;
+            }
+        }
+        return flaggedBy;
+    }
+
+    //records a completed transaction so it counts towards future rule evaluations
+    //and reports it for review if check flagged it
+    public void record(String accountNumber, String transactionType, double amount, TransactionRule flaggedBy) {
+        activityFor(accountNumber).record(transactionType, amount, System.currentTimeMillis());
+        reportFlag(accountNumber, flaggedBy);
+    }
+
+    //reports an applied transaction that check flagged for review, does nothing if it was not flagged
+    public void reportFlag(String accountNumber, TransactionRule flaggedBy) {
+        if (flaggedBy != null) {
+            flaggedCount.incrementAndGet();
+            ConsolePrinter.print(String.format("Transaction flagged for review on account %s: %s", accountNumber, flaggedBy.describe()));
+        }
+    }
+
+    public long getFlaggedCount() {
+        return flaggedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
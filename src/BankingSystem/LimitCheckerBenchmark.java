@@ -0,0 +1,49 @@
+package BankingSystem;
+
+import java.util.List;
+import java.util.Random;
+
+//small benchmark showing the cost of evaluating the rule set on the transaction path
+//run with: java BankingSystem.LimitCheckerBenchmark [accounts] [operations]
+class LimitCheckerBenchmark {
+    public static void main(String[] args) throws TransactionRejectedException {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        //limits are set high enough that every transaction is allowed, so only the evaluation is measured
+        LimitChecker checker = new LimitChecker(List.of(
+                new DailyWithdrawalLimitRule(Double.MAX_VALUE),
+                new TransferRateRule(Integer.MAX_VALUE),
+                new LargeTransactionRule(Double.MAX_VALUE, RuleDecision.FLAG)));
+
+        //pre-generates the account numbers and transaction types so the loop only measures the checker
+        String[] accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers[i] = String.format("%09d", i);
+        }
+        String[] types = {"deposit", "withdrawal", "transfer"};
+        Random random = new Random(42);
+
+        //warm up so the JIT has compiled the hot path before we measure it
+        run(checker, accountNumbers, types, random, operations);
+
+        long start = System.nanoTime();
+        run(checker, accountNumbers, types, random, operations);
+        long elapsed = System.nanoTime() - start;
+
+        ConsolePrinter.print(String.format("%d check + record operations over %d accounts in %.1f ms (%.1f ns/op)",
+                operations, accounts, elapsed / 1e6, (double) elapsed / operations));
+    }
+
+    //performs the check and record pair for random accounts and transaction types
+    private static void run(LimitChecker checker, String[] accountNumbers, String[] types, Random random, int operations)
+            throws TransactionRejectedException {
+        for (int i = 0; i < operations; i++) {
+            String accountNumber = accountNumbers[random.nextInt(accountNumbers.length)];
+            String type = types[random.nextInt(types.length)];
+            double amount = 1 + random.nextInt(500);
+            TransactionRule flaggedBy = checker.check(accountNumber, type, amount);
+            checker.record(accountNumber, type, amount, flaggedBy);
+        }
+    }
+}
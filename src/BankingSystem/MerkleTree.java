@@ -0,0 +1,153 @@
+package BankingSystem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//bank wide Merkle tree over the ledger hashes of every account
+//accounts are bucketed into a fixed number of leaves by account number, a leaf holds the sum of its accounts'
+//contributions so a posting only needs one atomic add on the leaf and marks it dirty, inner nodes are
+//recomputed lazily for the dirty leaves when the root or a comparison is needed
+class MerkleTree {
+    private final int leafCount; // number of leaves, a power of two
+    private final AtomicLongArray leaves; // sum of the contributions of the accounts in each leaf
+    private final AtomicLongArray dirty; // one bit per leaf whose path to the root is out of date
+    private final long[] nodes; // heap layout, node 1 is the root and node leafCount + i is leaf i
+    private final List<List<String>> leafAccounts; // account numbers in each leaf, used to narrow down a divergence
+
+    //constructor for a tree with 2^depth leaves
+    public MerkleTree(int depth) {
+        leafCount = 1 << depth;
+        leaves = new AtomicLongArray(leafCount);
+        dirty = new AtomicLongArray(Math.max(1, leafCount / 64));
+        nodes = new long[leafCount * 2];
+        leafAccounts = new ArrayList<>(leafCount);
+        for (int i = 0; i < leafCount; i++) {
+            leafAccounts.add(new CopyOnWriteArrayList<>());
+        }
+        //builds the initial inner nodes for the all zero leaves
+        for (int i = leafCount - 1; i >= 1; i--) {
+            nodes[i] = LedgerHash.combine(nodes[2 * i], nodes[2 * i + 1]);
+        }
+    }
+
+    //leaf an account belongs to
+    public int leafOf(String accountNumber) {
+        return (int) (LedgerHash.mix(accountNumber.hashCode()) & (leafCount - 1));
+    }
+
+    //adds a new account with its current ledger hash
+    public void add(String accountNumber, long ledgerHash) {
+        int leaf = leafOf(accountNumber);
+        leafAccounts.get(leaf).add(accountNumber);
+        leaves.addAndGet(leaf, LedgerHash.contribution(accountNumber, ledgerHash));
+        markDirty(leaf);
+    }
+
+    //replaces an account's contribution after its ledger hash changed, cheap enough for every posting
+    public void update(String accountNumber, long previousHash, long ledgerHash) {
+        int leaf = leafOf(accountNumber);
+        leaves.addAndGet(leaf, LedgerHash.contribution(accountNumber, ledgerHash) - LedgerHash.contribution(accountNumber, previousHash));
+        markDirty(leaf);
+    }
+
+    //sets the dirty bit of a leaf
+    private void markDirty(int leaf) {
+        long bit = 1L << (leaf & 63);
+        int word = leaf >>> 6;
+        long current = dirty.get(word);
+        //skips the write entirely when the leaf is already dirty, which is the common case for busy leaves
+        while ((current & bit) == 0 && !dirty.compareAndSet(word, current, current | bit)) {
+            current = dirty.get(word);
+        }
+    }
+
+    //recomputes the paths of the dirty leaves so every node is up to date
+    private synchronized void refresh() {
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.getAndSet(word, 0);
+            while (bits != 0) {
+                int leaf = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int node = leafCount + leaf;
+                nodes[node] = leaves.get(leaf);
+                for (node >>>= 1; node >= 1; node >>>= 1) {
+                    nodes[node] = LedgerHash.combine(nodes[2 * node], nodes[2 * node + 1]);
+                }
+            }
+        }
+    }
+
+    //root hash over every account
+    public synchronized long root() {
+        refresh();
+        return nodes[1];
+    }
+
+    //account numbers whose ledgers differ between the live accounts and a snapshot of this tree
+    //only subtrees whose hashes differ are visited, so finding d divergent accounts costs O(d log n)
+    public synchronized List<String> divergentAccounts(IntegritySnapshot snapshot, Map<String, ? extends Account<?>> accounts) {
+        if (snapshot.leafCount() != leafCount) {
+            throw new IllegalArgumentException("The snapshot was taken from a tree of a different size.");
+        }
+        refresh();
+        List<String> divergent = new ArrayList<>();
+        collect(snapshot, 1, accounts, divergent);
+        return divergent;
+    }
+
+    //descends into the children of a node only if its hash differs from the snapshot
+    private void collect(IntegritySnapshot snapshot, int node, Map<String, ? extends Account<?>> accounts, List<String> divergent) {
+        if (nodes[node] == snapshot.node(node)) {
+            return;
+        }
+        if (node < leafCount) {
+            collect(snapshot, 2 * node, accounts, divergent);
+            collect(snapshot, 2 * node + 1, accounts, divergent);
+            return;
+        }
+        //a differing leaf, compares only the accounts that fall into it
+        Map<String, Long> snapshotHashes = snapshot.leafHashes(node - leafCount);
+        for (String accountNumber : leafAccounts.get(node - leafCount)) {
+            Account<?> account = accounts.get(accountNumber);
+            Long snapshotHash = snapshotHashes.get(accountNumber);
+            if (account != null && (snapshotHash == null || snapshotHash != account.getLedgerHash())) {
+                divergent.add(accountNumber);
+            }
+        }
+        for (String accountNumber : snapshotHashes.keySet()) {
+            if (!accounts.containsKey(accountNumber)) {
+                divergent.add(accountNumber);
+            }
+        }
+    }
+
+    //point in time copy of the tree built from each account's ledger hash
+    //the nodes are rebuilt from the captured hashes rather than copied so they always agree with them,
+    //even while postings continue on other threads
+    public IntegritySnapshot snapshot(Map<String, ? extends Account<?>> accounts) {
+        List<Map<String, Long>> leafHashes = new ArrayList<>(leafCount);
+        long[] snapshotNodes = new long[leafCount * 2];
+        for (int leaf = 0; leaf < leafCount; leaf++) {
+            Map<String, Long> hashes = new HashMap<>();
+            long sum = 0;
+            for (String accountNumber : leafAccounts.get(leaf)) {
+                Account<?> account = accounts.get(accountNumber);
+                if (account != null) {
+                    long ledgerHash = account.getLedgerHash();
+                    hashes.put(accountNumber, ledgerHash);
+                    sum += LedgerHash.contribution(accountNumber, ledgerHash);
+                }
+            }
+            leafHashes.add(hashes);
+            snapshotNodes[leafCount + leaf] = sum;
+        }
+        for (int i = leafCount - 1; i >= 1; i--) {
+            snapshotNodes[i] = LedgerHash.combine(snapshotNodes[2 * i], snapshotNodes[2 * i + 1]);
+        }
+        return new IntegritySnapshot(snapshotNodes, leafCount, leafHashes);
+    }
+}
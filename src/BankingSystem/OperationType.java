@@ -0,0 +1,12 @@
+package BankingSystem;
+
+//types of committed operations streamed from a primary to its followers
+enum OperationType {
+    REGISTER, // args: full name, username, address, phone number
+    UPDATE_CONTACT, // args: username, address, phone number (blank keeps the current value)
+    OPEN, // args: username, account number, account type; amount is the initial deposit
+    DEPOSIT, // args: account number
+    WITHDRAW, // args: account number
+    TRANSFER, // args: from account number, to account number
+    INTEREST // args: account number; amount is the interest calculated on the primary
+}
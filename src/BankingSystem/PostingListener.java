@@ -0,0 +1,9 @@
+package BankingSystem;
+
+//callback notified every time a posting is added to an account's ledger
+interface PostingListener {
+    //previousLedgerHash and ledgerHash are the account's ledger hash before and after the posting
+    //the account must not be read through anything that folds buffered deposits, since that would post
+    //them in the middle of this posting
+    void posted(Account<?> account, Transaction transaction, long previousLedgerHash, long ledgerHash);
+}
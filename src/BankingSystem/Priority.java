@@ -0,0 +1,8 @@
+package BankingSystem;
+
+//priority classes for work submitted to the bank, highest priority first
+enum Priority {
+    INTERACTIVE,
+    BATCH,
+    REPORT
+}
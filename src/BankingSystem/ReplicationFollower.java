@@ -0,0 +1,123 @@
+package BankingSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+//follower side of replication, applies the primary's operations in order to a read only bank
+class ReplicationFollower {
+    private final Bank<?> bank;
+    private final String host;
+    private final int port;
+    private final Thread thread; // thread applying the primary's operations
+    private volatile boolean following = true;
+    private volatile Socket socket;
+    private volatile String divergence; // why applying stopped, null while the replica is in step with the primary
+
+    //constructor that starts following the primary at host:port
+    public ReplicationFollower(Bank<?> bank, String host, int port) {
+        this.bank = bank;
+        this.host = host;
+        this.port = port;
+        bank.setReadOnly(true);
+        thread = new Thread(this::follow, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    //connects to the primary and applies batches, reconnecting if the connection drops
+    private void follow() {
+        while (following) {
+            try (Socket connection = new Socket(host, port)) {
+                socket = connection;
+                connection.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                //tells the primary where to start from
+                out.writeLong(bank.getReplicationLog().lastSequence());
+                out.flush();
+
+                while (following) {
+                    int count = in.readInt();
+                    if (count == ReplicationPrimary.SNAPSHOT) {
+                        //the primary no longer has the operations this replica needs and sends its state instead
+                        byte[] snapshot = new byte[in.readInt()];
+                        in.readFully(snapshot);
+                        try {
+                            bank.restoreReplicaSnapshot(snapshot);
+                        } catch (RuntimeException e) {
+                            divergence = "snapshot could not be restored: " + e.getMessage();
+                            following = false;
+                            ConsolePrinter.print("Replica diverged from the primary and stopped following, " + divergence);
+                            return;
+                        }
+                        out.writeLong(bank.getReplicationLog().lastSequence());
+                        out.flush();
+                        continue;
+                    }
+                    if (count == 0) {
+                        continue;
+                    }
+                    for (int i = 0; i < count && following; i++) {
+                        LedgerOperation operation = LedgerOperation.read(in);
+                        try {
+                            bank.applyReplicated(operation);
+                        } catch (RuntimeException e) {
+                            //an operation that can not be applied means this replica no longer matches the primary,
+                            //applying anything after it would only spread the difference, so the follower stops
+                            divergence = "operation " + operation + " failed: " + e;
+                            following = false;
+                            ConsolePrinter.print("Replica diverged from the primary and stopped following, " + divergence);
+                            return;
+                        }
+                    }
+                    //one acknowledgement per batch, the follower's own log only keeps what a promoted follower might
+                    //need to send its followers, anything older is covered by a snapshot
+                    ReplicationLog log = bank.getReplicationLog();
+                    out.writeLong(log.lastSequence());
+                    out.flush();
+                    log.trimThrough(log.lastSequence() - ReplicationLog.RETAINED);
+                }
+            } catch (IOException e) {
+                if (following) {
+                    ConsolePrinter.print("Lost connection to replication primary, retrying: " + e.getMessage());
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    //reason this replica stopped following, or null if it is still in step with the primary
+    public String getDivergence() {
+        return divergence;
+    }
+
+    //sequence of the last operation applied
+    public long getAppliedSequence() {
+        return bank.getReplicationLog().lastSequence();
+    }
+
+    //stops following and turns this bank into a primary serving its own followers on the given port
+    public ReplicationPrimary promote(int listenPort) throws IOException {
+        following = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+        //waits for the operation being applied to finish so nothing is applied after promotion
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        bank.promoteToPrimary();
+        return new ReplicationPrimary(bank, listenPort);
+    }
+}
@@ -0,0 +1,75 @@
+package BankingSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//in memory log of recently committed operations
+//operations every follower has acknowledged are trimmed from the front so the log stays bounded, a follower that
+//needs operations which were already trimmed, such as a new or restarted one, is bootstrapped from a snapshot of
+//the bank's state instead of replaying the log from the start
+class ReplicationLog {
+    static final int RETAINED = 10_000; // recent operations kept even once acknowledged, so a follower can reconnect
+    static final int MAX_RETAINED = 1_000_000; // operations kept at most, a follower further behind needs a snapshot
+
+    private final List<LedgerOperation> operations = new ArrayList<>(); // operation with sequence trimmed + i + 1 is at index i
+    private long trimmed; // sequence of the last operation trimmed from the front of the log, 0 if none
+
+    //appends a new operation committed on this bank, giving it the next sequence number
+    public synchronized void append(LedgerOperation operation) {
+        operation.setSequence(lastSequence() + 1);
+        operations.add(operation);
+        notifyAll();
+    }
+
+    //appends an operation received from a primary, keeping its sequence number
+    public synchronized void appendReplicated(LedgerOperation operation) {
+        if (operation.getSequence() != lastSequence() + 1) {
+            throw new IllegalStateException("Out of order replicated operation " + operation);
+        }
+        operations.add(operation);
+        notifyAll();
+    }
+
+    //sequence number of the last operation in the log
+    public synchronized long lastSequence() {
+        return trimmed + operations.size();
+    }
+
+    //sequence number of the last operation trimmed from the log, only operations after it can be sent
+    public synchronized long trimmedSequence() {
+        return trimmed;
+    }
+
+    //drops every operation up to and including the given sequence
+    public synchronized void trimThrough(long sequence) {
+        int count = (int) (Math.min(sequence, lastSequence()) - trimmed);
+        if (count > 0) {
+            operations.subList(0, count).clear();
+            trimmed += count;
+        }
+    }
+
+    //empties the log and continues it after the given sequence, used once a follower has restored a snapshot
+    public synchronized void resetTo(long sequence) {
+        operations.clear();
+        trimmed = sequence;
+        notifyAll();
+    }
+
+    //waits until there are operations after the given sequence and returns up to maxBatch of them
+    //returns null if operations after the sequence were already trimmed
+    public synchronized List<LedgerOperation> awaitAfter(long sequence, int maxBatch, long timeoutMillis) throws InterruptedException {
+        if (sequence < trimmed) {
+            return null;
+        }
+        if (lastSequence() <= sequence) {
+            wait(timeoutMillis);
+            if (sequence < trimmed) {
+                return null;
+            }
+        }
+        int from = (int) (sequence - trimmed);
+        int to = Math.min(operations.size(), from + maxBatch);
+        return from >= to ? List.of() : new ArrayList<>(operations.subList(from, to));
+    }
+}
@@ -0,0 +1,192 @@
+package BankingSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//primary side of replication, streams the log to every follower that connects
+//operations are sent in batches without waiting for the previous batch to be acknowledged,
+//followers acknowledge the last sequence they applied once per batch, a follower that needs operations already
+//trimmed from the log is first sent a snapshot of the bank's state and then the operations after it
+class ReplicationPrimary {
+    static final int SNAPSHOT = -1; // sent in place of a batch size when a snapshot of the bank follows
+    private static final int MAX_BATCH = 512; // maximum operations sent in one batch
+    private static final int MAX_UNACKED = 8192; // maximum operations in flight to a single follower
+    private static final long TRIM_INTERVAL_MILLIS = 1000; // how often acknowledged operations are trimmed
+
+    private final Bank<?> bank; // bank whose state is sent to followers that need a snapshot
+    private final ReplicationLog log;
+    private final ServerSocket serverSocket;
+    private final List<FollowerConnection> followers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    //constructor that starts accepting followers of the bank's replication log on the given port
+    public ReplicationPrimary(Bank<?> bank, int port) throws IOException {
+        this.bank = bank;
+        this.log = bank.getReplicationLog();
+        this.serverSocket = new ServerSocket(port);
+        Thread acceptor = new Thread(this::acceptFollowers, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        Thread trimmer = new Thread(this::trimLog, "replication-trimmer");
+        trimmer.setDaemon(true);
+        trimmer.start();
+        ConsolePrinter.print("Replication primary listening on port " + serverSocket.getLocalPort());
+    }
+
+    //port the primary is listening on
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    //accepts follower connections until the primary is closed
+    private void acceptFollowers() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                FollowerConnection follower = new FollowerConnection(socket);
+                followers.add(follower);
+                follower.start();
+            } catch (IOException e) {
+                if (running) {
+                    ConsolePrinter.print("Replication error accepting follower: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    //trims the operations every connected follower has acknowledged, keeping the most recent RETAINED of them so
+    //a follower that briefly loses its connection can carry on, and never more than MAX_RETAINED so a follower
+    //that stops acknowledging can not grow the log without bound, it is sent a snapshot if it comes back
+    private void trimLog() {
+        while (running) {
+            long last = log.lastSequence();
+            long acknowledged = last;
+            for (FollowerConnection follower : followers) {
+                acknowledged = Math.min(acknowledged, follower.acknowledged);
+            }
+            log.trimThrough(Math.max(Math.min(acknowledged, last - ReplicationLog.RETAINED), last - ReplicationLog.MAX_RETAINED));
+            try {
+                Thread.sleep(TRIM_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    //describes how far behind each follower is
+    public String followerStatus() {
+        StringBuilder sb = new StringBuilder(String.format("Log holds operations #%d to #%d\n", log.trimmedSequence() + 1, log.lastSequence()));
+        long last = log.lastSequence();
+        for (FollowerConnection follower : followers) {
+            sb.append(String.format("%s: acknowledged %d of %d\n", follower.socket.getRemoteSocketAddress(), follower.acknowledged, last));
+        }
+        return followers.isEmpty() ? sb.append("No followers connected.").toString() : sb.toString().trim();
+    }
+
+    //stops accepting followers and disconnects the current ones
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        for (FollowerConnection follower : followers) {
+            follower.close();
+        }
+    }
+
+    //connection to a single follower with a sender thread and an acknowledgement reader thread
+    private class FollowerConnection {
+        private final Socket socket;
+        private volatile long acknowledged; // last sequence the follower has applied
+
+        FollowerConnection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            Thread sender = new Thread(this::send, "replication-sender-" + socket.getPort());
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        //sends batches of operations, starting after the sequence the follower says it already has
+        private void send() {
+            try {
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                long sent = in.readLong();
+                acknowledged = sent;
+
+                //acknowledgements are read on their own thread so sending never waits on them
+                Thread ackReader = new Thread(() -> readAcknowledgements(in), "replication-acks-" + socket.getPort());
+                ackReader.setDaemon(true);
+                ackReader.start();
+
+                while (running && !socket.isClosed()) {
+                    //holds back when too much is in flight so a slow follower can not grow the socket buffers without bound
+                    if (sent - acknowledged >= MAX_UNACKED) {
+                        synchronized (this) {
+                            wait(100);
+                        }
+                        continue;
+                    }
+                    List<LedgerOperation> batch = log.awaitAfter(sent, MAX_BATCH, 1000);
+                    if (batch == null) {
+                        //the operations the follower needs were trimmed, so it is sent the state they led to instead
+                        byte[] snapshot = bank.captureReplicaSnapshot();
+                        out.writeInt(SNAPSHOT);
+                        out.writeInt(snapshot.length);
+                        out.write(snapshot);
+                        out.flush();
+                        sent = Bank.snapshotSequence(snapshot);
+                        continue;
+                    }
+                    //an empty batch is still sent as a heartbeat
+                    out.writeInt(batch.size());
+                    for (LedgerOperation operation : batch) {
+                        operation.write(out);
+                    }
+                    out.flush();
+                    if (!batch.isEmpty()) {
+                        sent = batch.get(batch.size() - 1).getSequence();
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                ConsolePrinter.print("Replication follower disconnected: " + socket.getRemoteSocketAddress());
+            } finally {
+                close();
+            }
+        }
+
+        //reads acknowledgements until the connection closes
+        private void readAcknowledgements(DataInputStream in) {
+            try {
+                while (true) {
+                    acknowledged = in.readLong();
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            followers.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
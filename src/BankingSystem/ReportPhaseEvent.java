@@ -0,0 +1,21 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for a phase of writing a report
+@Name("banking.ReportPhase")
+@Label("Report Phase")
+@Category({"Banking", "Report"})
+@Description("A phase of writing the accounts report")
+@Enabled(false)
+@StackTrace(false)
+class ReportPhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+}
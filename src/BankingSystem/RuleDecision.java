@@ -0,0 +1,8 @@
+package BankingSystem;
+
+//outcome of evaluating a rule against a transaction
+enum RuleDecision {
+    ALLOW,
+    FLAG,
+    REJECT
+}
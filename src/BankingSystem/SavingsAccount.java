@@ -0,0 +1,90 @@
+package BankingSystem;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//Savings account inherits from the Account class
+class SavingsAccount extends Account<Transaction> {
+    private double interestRate; // Interest rate for savings account
+    private ScheduledExecutorService scheduler; //executer service which will run a thread at specified intervals
+
+    // Constructor to initialize savings account details
+    public SavingsAccount(String accountNumber, User accountHolder, double balance, double interestRate) {
+        this(accountNumber, accountHolder, balance, interestRate, true);
+    }
+
+    // Constructor that can defer the interest schedule, used when the account must be set up before
+    // interest starts or when interest is applied by a replication primary instead
+    public SavingsAccount(String accountNumber, User accountHolder, double balance, double interestRate, boolean startInterest) {
+        super(accountNumber, accountHolder, balance);
+        //sets the interest rate
+        this.interestRate = interestRate;
+        if (startInterest) {
+            startInterest();
+        }
+    }
+
+    //instaniates a scheduler that applies interest every minute, does nothing if it is already running
+    public synchronized void startInterest() {
+        if (scheduler != null) {
+            return;
+        }
+        this.scheduler = Executors.newScheduledThreadPool(1);
+        //class that applies the interest
+        InterestApplicator interestApplicator = new InterestApplicator(this);
+        //sets the scheduler to apply interest every minute
+        scheduler.scheduleAtFixedRate(interestApplicator, 0, 1, TimeUnit.MINUTES);
+    }
+
+    // Implement deposit method for savings account
+    @Override
+    public void deposit(double amount) {
+        if (amount > 0) {
+            balance += amount; // Increase balance by deposit amount
+            post(new Transaction(getAccountNumber(), "Deposit", amount));
+        }
+    }
+
+    // Implement withdraw method for savings account
+    @Override
+    public boolean withdraw(double amount) throws InsufficientFundsException {
+        fold(); // buffered deposits count towards the funds available
+        if (amount > 0 && amount <= balance) {
+            balance -= amount; // Decrease balance by withdrawal amount
+            post(new Transaction(getAccountNumber(), "Withdrawal", amount));
+            return true;
+        } else {
+            throw new InsufficientFundsException("Insufficient funds or invalid amount.");
+        }
+    }
+
+    // Method to add interest to the balance
+    //synchronized on the account like every other transaction so interest can not interleave with them
+    public synchronized void addInterest() {
+        fold();
+        //adds the balance times the interest rate
+        applyInterest(balance * interestRate);
+    }
+
+    // Method to post an interest amount that has already been calculated
+    public synchronized void applyInterest(double interestAmount) {
+        balance += interestAmount; // Increase balance by interest amount
+        //adds the transaction and prints to the console
+        post(new Transaction(getAccountNumber(), "Interest", interestAmount));
+//        ConsolePrinter.print(String.format("Interest added to account number: %s", getAccountNumber()));
+    }
+
+    //overrides the createInitialDepositTransaction in the Account abstract class
+    @Override
+    protected Transaction createInitialDepositTransaction(String accountNumber, double balance) {
+        return new Transaction(accountNumber, "Initial Deposit", balance);
+    }
+
+    //overrides the createDepositTransaction in the Account abstract class
+    @Override
+    protected Transaction createDepositTransaction(double amount, Date date) {
+        return new Transaction(getAccountNumber(), "Deposit", amount, date);
+    }
+}
@@ -0,0 +1,72 @@
+package BankingSystem;
+
+import java.util.Arrays;
+
+//fixed size ring of time buckets that keeps a running count and sum over a sliding window
+//all storage is allocated up front so recording an event never allocates
+class SlidingWindowCounter {
+    private final long bucketMillis; // width of a single bucket in milliseconds
+    private final long[] counts; // number of events in each bucket
+    private final double[] sums; // sum of the amounts in each bucket
+    private long headBucket; // absolute index of the newest bucket
+    private long totalCount; // running count over the whole window
+    private double totalSum; // running sum over the whole window
+
+    //constructor for a window that covers buckets * bucketMillis milliseconds
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+        this.counts = new long[buckets];
+        this.sums = new double[buckets];
+    }
+
+    //moves the head of the ring forward to the current time, expiring old buckets from the running totals
+    private void advance(long now) {
+        long bucket = now / bucketMillis;
+        if (bucket <= headBucket) {
+            return;
+        }
+        //the whole window expired so we can simply clear everything
+        if (bucket - headBucket >= counts.length) {
+            Arrays.fill(counts, 0);
+            Arrays.fill(sums, 0);
+            totalCount = 0;
+            totalSum = 0;
+        } else {
+            //only the buckets between the old head and the new head expire
+            for (long b = headBucket + 1; b <= bucket; b++) {
+                int index = (int) (b % counts.length);
+                totalCount -= counts[index];
+                totalSum -= sums[index];
+                counts[index] = 0;
+                sums[index] = 0;
+            }
+            //resets the sum once the window is empty so floating point drift does not accumulate
+            if (totalCount == 0) {
+                totalSum = 0;
+            }
+        }
+        headBucket = bucket;
+    }
+
+    //records an event with the given amount at the given time
+    public void add(long now, double amount) {
+        advance(now);
+        int index = (int) (headBucket % counts.length);
+        counts[index]++;
+        sums[index] += amount;
+        totalCount++;
+        totalSum += amount;
+    }
+
+    //number of events inside the window
+    public long count(long now) {
+        advance(now);
+        return totalCount;
+    }
+
+    //sum of the amounts inside the window
+    public double sum(long now) {
+        advance(now);
+        return totalSum;
+    }
+}
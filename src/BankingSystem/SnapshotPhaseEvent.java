@@ -0,0 +1,23 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for a phase of a statement run, balance export or integrity snapshot
+@Name("banking.SnapshotPhase")
+@Label("Snapshot Phase")
+@Category({"Banking", "Snapshot"})
+@Description("A phase of taking a snapshot of the bank such as statements, balance exports or integrity snapshots")
+@Enabled(false)
+@StackTrace(false)
+class SnapshotPhaseEvent extends Event {
+    @Label("Snapshot")
+    String snapshot;
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,288 @@
+package BankingSystem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+//generates monthly statements for every account in parallel
+//accounts are split into fixed partitions, each partition is rendered by a fork join task and written to its own
+//batch file, a partition only counts as done once its batch file has been moved into place so a run that stops
+//part way through can be restarted and will skip the partitions that already finished, statements are only
+//generated for a month that has ended, and a completion marker is written once every partition is done so a
+//finished period is never mistaken for one still in progress and is only written again when asked to regenerate
+class StatementGenerator {
+    private static final String MANIFEST = "partitions.txt"; // lists the account numbers of each partition
+    private static final String COMPLETE = "complete.txt"; // written once every partition of the period is done
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Map<String, ? extends Account<?>> accounts; // accounts of the bank
+    private final YearMonth period; // month the statements cover
+    private final Path outputDirectory; // directory the batch files are written to
+    private final int partitionSize; // number of accounts in each partition
+    private final long periodStart; // first millisecond of the period
+    private final long periodEnd; // first millisecond after the period
+    private final AtomicInteger completed = new AtomicInteger(); // partitions finished so far
+    private int partitionCount;
+
+    //reusable buffers for each worker thread so rendering does not allocate a new builder per statement
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+    private final ThreadLocal<List<Transaction>> postingBuffers = ThreadLocal.withInitial(ArrayList::new);
+
+    //constructor for statements of the given period written under outputDirectory/<period>
+    public StatementGenerator(Map<String, ? extends Account<?>> accounts, YearMonth period, Path outputDirectory, int partitionSize) {
+        this.accounts = accounts;
+        this.period = period;
+        this.outputDirectory = outputDirectory.resolve(period.toString());
+        this.partitionSize = partitionSize;
+        this.periodStart = period.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        this.periodEnd = period.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    //true once the period is over, postings can still be added to a period that has not ended
+    public boolean isPeriodOver() {
+        return System.currentTimeMillis() >= periodEnd;
+    }
+
+    //true if an earlier run wrote every statement of the period
+    public boolean isComplete() {
+        return Files.exists(outputDirectory.resolve(COMPLETE));
+    }
+
+    //generates every statement that has not already been written, returns the number of partitions written this run
+    //a period that is already complete is left as it is, call clear first to regenerate it
+    public int generate() throws IOException {
+        if (!isPeriodOver()) {
+            throw new IllegalStateException("The statement period " + period + " has not ended yet.");
+        }
+        if (isComplete()) {
+            return 0;
+        }
+        Files.createDirectories(outputDirectory);
+        List<String[]> partitions = loadOrCreatePartitions();
+        partitionCount = partitions.size();
+
+        //counts the partitions finished by an earlier run so progress starts from there
+        List<Integer> remaining = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            if (Files.exists(batchFile(i))) {
+                completed.incrementAndGet();
+            } else {
+                remaining.add(i);
+            }
+        }
+        if (completed.get() > 0) {
+            ConsolePrinter.print(String.format("Resuming statements for %s, %d of %d partitions already done.", period, completed.get(), partitionCount));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            pool.invoke(new PartitionTask(partitions, remaining, 0, remaining.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        //the marker is only written once every batch is in place
+        Path temp = outputDirectory.resolve(COMPLETE + ".tmp");
+        Files.writeString(temp, String.format("Completed: %s\nPartitions: %d\n", LocalDateTime.now().format(DATE_FORMAT), partitionCount), StandardCharsets.UTF_8);
+        Files.move(temp, outputDirectory.resolve(COMPLETE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return remaining.size();
+    }
+
+    //removes the statements of the period so the next generate writes them again from the current accounts
+    //the marker goes first, so a run that stops part way through clearing is no longer taken as complete
+    public void clear() throws IOException {
+        Files.deleteIfExists(outputDirectory.resolve(COMPLETE));
+        if (!Files.isDirectory(outputDirectory)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(outputDirectory)) {
+            files = listing.collect(Collectors.toList());
+        }
+        //the partition manifest goes last, so any batches left by a stopped clear still match it
+        for (Path file : files) {
+            if (!file.getFileName().toString().equals(MANIFEST)) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(outputDirectory.resolve(MANIFEST));
+    }
+
+    //reads the partitions of an earlier run, or splits the current accounts into partitions and saves them
+    //reusing the saved partitions means a restart writes exactly the same batches even if accounts were opened since
+    private List<String[]> loadOrCreatePartitions() throws IOException {
+        Path manifest = outputDirectory.resolve(MANIFEST);
+        List<String[]> partitions = new ArrayList<>();
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                partitions.add(line.isEmpty() ? new String[0] : line.split(","));
+            }
+            return partitions;
+        }
+
+        //sorts the account numbers so partitions are stable and statements come out in order
+        String[] accountNumbers = accounts.keySet().toArray(new String[0]);
+        Arrays.sort(accountNumbers);
+        StringBuilder sb = new StringBuilder();
+        for (int start = 0; start < accountNumbers.length; start += partitionSize) {
+            String[] partition = Arrays.copyOfRange(accountNumbers, start, Math.min(accountNumbers.length, start + partitionSize));
+            partitions.add(partition);
+            sb.append(String.join(",", partition)).append('\n');
+        }
+        //the manifest is written atomically so a crash can not leave a partial one behind
+        Path temp = outputDirectory.resolve(MANIFEST + ".tmp");
+        Files.writeString(temp, sb, StandardCharsets.UTF_8);
+        Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return partitions;
+    }
+
+    //file a partition's statements are written to
+    private Path batchFile(int partition) {
+        return outputDirectory.resolve(String.format("batch-%05d.txt", partition));
+    }
+
+    //renders every statement in a partition to a temporary file and moves it into place once complete
+    private void writePartition(int partition, String[] accountNumbers) throws IOException {
+        SnapshotPhaseEvent event = new SnapshotPhaseEvent();
+        event.begin();
+        Path temp = outputDirectory.resolve(String.format("batch-%05d.tmp", partition));
+        StringBuilder sb = buffers.get();
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (String accountNumber : accountNumbers) {
+                Account<?> account = accounts.get(accountNumber);
+                if (account == null) {
+                    continue;
+                }
+                sb.setLength(0);
+                renderStatement(account, sb);
+                writer.append(sb);
+            }
+        }
+        Files.move(temp, batchFile(partition), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Bank.commitSnapshotPhase(event, "statements " + period, "partition");
+        reportProgress(completed.incrementAndGet());
+    }
+
+    //renders a single statement into the buffer
+    private void renderStatement(Account<?> account, StringBuilder sb) {
+        List<Transaction> postings = postingBuffers.get();
+        postings.clear();
+        double opening;
+        double interest = 0;
+
+        //only the balances and the period's postings are gathered under the account lock, rendering happens after
+        synchronized (account) {
+            //the running balance checkpoints mean neither of these replays the history before the period
+            opening = account.balanceAsOf(periodStart - 1);
+            List<? extends Transaction> transactions = account.getTransactions();
+            for (int i = account.firstPostingAfter(periodStart - 1); i < transactions.size(); i++) {
+                Transaction transaction = transactions.get(i);
+                if (transaction.getDate().getTime() >= periodEnd) {
+                    break;
+                }
+                postings.add(transaction);
+                if (transaction.getTransactionType().equals("Interest")) {
+                    interest += transaction.getAmount();
+                }
+            }
+        }
+
+        sb.append("Statement for ").append(period).append('\n');
+        sb.append("Owner: ").append(account.getAccountHolder().getFullName()).append('\n');
+        sb.append("Account Number: ").append(account.getAccountNumber()).append('\n');
+        sb.append("Type: ").append(account.getClass().getSimpleName()).append('\n');
+        sb.append("Opening Balance: ");
+        appendMoney(sb, opening).append('\n');
+        sb.append("Postings:\n");
+        double closing = opening;
+        for (Transaction transaction : postings) {
+            closing += transaction.getSignedAmount();
+            sb.append("  - ");
+            DATE_FORMAT.formatTo(LocalDateTime.ofInstant(transaction.getDate().toInstant(), ZoneId.systemDefault()), sb);
+            sb.append(' ').append(transaction.getTransactionType()).append(": ");
+            appendMoney(sb, transaction.getSignedAmount()).append('\n');
+        }
+        sb.append("Interest: ");
+        appendMoney(sb, interest).append('\n');
+        sb.append("Closing Balance: ");
+        appendMoney(sb, closing).append('\n');
+        sb.append("======================================\n");
+        postings.clear();
+    }
+
+    //appends an amount with two decimal places without going through String.format
+    private static StringBuilder appendMoney(StringBuilder sb, double amount) {
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        sb.append(cents / 100).append('.');
+        long remainder = cents % 100;
+        if (remainder < 10) {
+            sb.append('0');
+        }
+        return sb.append(remainder);
+    }
+
+    //prints progress each time another tenth of the partitions is finished
+    private void reportProgress(int done) {
+        int step = Math.max(1, partitionCount / 10);
+        if (done % step == 0 || done == partitionCount) {
+            ConsolePrinter.print(String.format("Statements for %s: %d of %d partitions written.", period, done, partitionCount));
+        }
+    }
+
+    //fork join task that splits the remaining partitions in half until a single partition is left
+    private class PartitionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String[]> partitions;
+        private final List<Integer> remaining;
+        private final int from;
+        private final int to;
+
+        PartitionTask(List<String[]> partitions, List<Integer> remaining, int from, int to) {
+            this.partitions = partitions;
+            this.remaining = remaining;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    int partition = remaining.get(from);
+                    try {
+                        writePartition(partition, partitions.get(partition));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PartitionTask(partitions, remaining, from, middle), new PartitionTask(partitions, remaining, middle, to));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package BankingSystem;
+
+import java.util.concurrent.TimeUnit;
+
+//token bucket used to rate limit a single client
+class TokenBucket {
+    private final double capacity; // maximum number of tokens (burst size)
+    private final double refillPerNano; // tokens added per nanosecond
+    private double tokens; // tokens currently available
+    private long lastRefill; // time of the last refill in nanoseconds
+
+    //constructor for a bucket that allows a burst of capacity and refills at ratePerSecond
+    public TokenBucket(double capacity, double ratePerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    //takes a token if one is available, refilling lazily based on the time since the last call
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package BankingSystem;
+
+import java.util.Date;
+
+// Transaction class representing a financial transaction
+class Transaction {
+    private String accountNumber; // Account number involved in the transaction
+    private String transactionType; // Type of transaction (deposit/withdraw)
+    private double amount; // Amount involved in the transaction
+    private Date date; // Date of the transaction
+
+    // Constructor to initialize transaction details
+    public Transaction(String accountNumber, String transactionType, double amount) {
+        this.accountNumber = accountNumber;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.date = new Date(); // Set transaction date to current date
+    }
+
+    // Constructor for a transaction that happened at an earlier date
+    public Transaction(String accountNumber, String transactionType, double amount, Date date) {
+        this.accountNumber = accountNumber;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.date = date;
+    }
+
+    // Getter for account number
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    // Getter for transaction type
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    // Getter for amount
+    public double getAmount() {
+        return amount;
+    }
+
+    // Getter for the amount with the sign of its effect on the balance, withdrawals are negative
+    public double getSignedAmount() {
+        return transactionType.equals("Withdrawal") ? -amount : amount;
+    }
+
+    // Override toString method to display transaction details
+    @Override
+    public String toString() {
+        return String.format("Account Number: %s, Transaction Type: %s, Amount: %.2f, Date: %s", accountNumber, transactionType, amount, date);
+    }
+}
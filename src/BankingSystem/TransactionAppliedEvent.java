@@ -0,0 +1,27 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for the time a transaction holds the account monitor(s)
+@Name("banking.TransactionApplied")
+@Label("Transaction Applied")
+@Category({"Banking", "Transaction"})
+@Description("Time spent applying a transaction while holding the account monitor(s)")
+@Enabled(false)
+@StackTrace(false)
+class TransactionAppliedEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+    @Label("Transaction Type")
+    String transactionType;
+    @Label("Amount")
+    double amount;
+    @Label("Succeeded")
+    boolean succeeded;
+}
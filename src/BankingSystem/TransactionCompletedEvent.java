@@ -0,0 +1,27 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event spanning a transaction from submission to its result
+@Name("banking.TransactionCompleted")
+@Label("Transaction Completed")
+@Category({"Banking", "Transaction"})
+@Description("Time from submitting a transaction to its result, including time queued")
+@Enabled(false)
+@StackTrace(false)
+class TransactionCompletedEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+    @Label("Transaction Type")
+    String transactionType;
+    @Label("Amount")
+    double amount;
+    @Label("Status")
+    String status;
+}
@@ -0,0 +1,25 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for the wait on the account monitor(s) of a transaction
+@Name("banking.TransactionLockAcquired")
+@Label("Transaction Lock Acquired")
+@Category({"Banking", "Transaction"})
+@Description("Time spent waiting for the account monitor(s) of a transaction")
+@Enabled(false)
+@StackTrace(false)
+class TransactionLockEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+    @Label("Transaction Type")
+    String transactionType;
+    @Label("Amount")
+    double amount;
+}
@@ -0,0 +1,10 @@
+package BankingSystem;
+
+//custom exception for a transaction rejected by a velocity or limit rule
+class TransactionRejectedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public TransactionRejectedException(String message) {
+        super(message);
+    }
+}
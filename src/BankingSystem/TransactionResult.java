@@ -0,0 +1,59 @@
+package BankingSystem;
+
+//result of a transaction, returned to the caller instead of only being printed
+class TransactionResult {
+    private final TransactionStatus status; // outcome of the transaction
+    private final String message; // message describing the outcome
+    private final double balance; // balance of the account after the transaction
+
+    // Constructor to initialize the result details
+    public TransactionResult(TransactionStatus status, String message, double balance) {
+        this.status = status;
+        this.message = message;
+        this.balance = balance;
+    }
+
+    //result for a transaction that was applied
+    public static TransactionResult completed(String message, double balance) {
+        return new TransactionResult(TransactionStatus.COMPLETED, message, balance);
+    }
+
+    //result for a transaction that failed validation or had insufficient funds
+    public static TransactionResult failed(String message) {
+        return new TransactionResult(TransactionStatus.FAILED, message, 0);
+    }
+
+    //result for a transaction that admission control refused to run
+    public static TransactionResult retryLater(AdmissionResult admission) {
+        String message;
+        switch (admission) {
+            case RATE_LIMITED:
+                message = "Too many requests. Please retry later.";
+                break;
+            case SHUT_DOWN:
+                message = "The bank is shutting down. Please retry later.";
+                break;
+            default:
+                message = "The bank is busy. Please retry later.";
+                break;
+        }
+        return new TransactionResult(TransactionStatus.RETRY_LATER, message, 0);
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s", status, message);
+    }
+}
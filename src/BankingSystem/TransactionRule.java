@@ -0,0 +1,10 @@
+package BankingSystem;
+
+//a single velocity or limit rule evaluated inline on every transaction
+interface TransactionRule {
+    //decides whether the transaction is allowed, flagged or rejected
+    RuleDecision evaluate(String transactionType, double amount, AccountActivity activity, long now);
+
+    //human readable description used when a transaction is flagged or rejected
+    String describe();
+}
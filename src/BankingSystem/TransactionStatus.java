@@ -0,0 +1,8 @@
+package BankingSystem;
+
+//status of a transaction once it has been handled
+enum TransactionStatus {
+    COMPLETED,
+    FAILED,
+    RETRY_LATER // the transaction was never run because of admission control
+}
@@ -0,0 +1,29 @@
+package BankingSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//flight recorder event for a transaction being offered to admission control
+@Name("banking.TransactionSubmit")
+@Label("Transaction Submit")
+@Category({"Banking", "Transaction"})
+@Description("A transaction was offered to admission control")
+@Enabled(false)
+@StackTrace(false)
+class TransactionSubmitEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+    @Label("Transaction Type")
+    String transactionType;
+    @Label("Amount")
+    double amount;
+    @Label("Priority")
+    String priority;
+    @Label("Admission Result")
+    String admission;
+}
@@ -0,0 +1,23 @@
+package BankingSystem;
+
+//rejects transfers once an account has made too many in the last minute
+class TransferRateRule implements TransactionRule {
+    private final int maxPerMinute; // maximum transfers allowed in a rolling minute
+
+    public TransferRateRule(int maxPerMinute) {
+        this.maxPerMinute = maxPerMinute;
+    }
+
+    @Override
+    public RuleDecision evaluate(String transactionType, double amount, AccountActivity activity, long now) {
+        if (!transactionType.equals("transfer")) {
+            return RuleDecision.ALLOW;
+        }
+        return activity.transfersLastMinute(now) >= maxPerMinute ? RuleDecision.REJECT : RuleDecision.ALLOW;
+    }
+
+    @Override
+    public String describe() {
+        return String.format("Maximum of %d transfers per minute exceeded.", maxPerMinute);
+    }
+}
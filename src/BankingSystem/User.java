@@ -0,0 +1,48 @@
+package BankingSystem;
+
+// User class representing a bank customer
+class User {
+    private String fullName; // Full name of the customer
+    private String username; // Username of the customer
+    private String address; // Home address of the customer
+    private String phoneNumber; // Phone number of the customer
+
+    // Constructor to initialize user details
+    public User(String fullName, String username, String address, String phoneNumber) {
+        this.fullName = fullName;
+        this.username = username;
+        this.address = address;
+        this.phoneNumber = phoneNumber;
+    }
+
+    // Getters and setters are below
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    // Override toString method to display user details in unique way
+    @Override
+    public String toString() {
+        return String.format("Username: %s\nAddress: %s\nPhone: %s", username, address, phoneNumber);
+    }
+}
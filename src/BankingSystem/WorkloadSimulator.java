@@ -0,0 +1,618 @@
+package BankingSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+//headless workload simulator for capacity testing the bank without the CLI
+//customers and accounts are created through the same registerNewCustomer and openAccount methods the menus use,
+//then concurrent clients run a weighted mix of operations against accounts picked from a Zipf distribution so a
+//few accounts are hot, transactions carry idempotency keys so clients can pipeline them and retry or repeat them
+//safely, after a fixed duration it prints throughput, latency percentiles and the invariant checks
+//the seed fixes the customers, the accounts and every client's sequence of operations, how far each client gets
+//through its sequence still depends on timing
+//batch clients only send transactions, at batch priority, alongside the interactive clients, with any the workload
+//is first run without them on a fresh bank so the interactive latency can be compared with and without that load,
+//both after an unmeasured warm up run
+//run with: java BankingSystem.WorkloadSimulator [--users 1000] [--accounts-per-user 1] [--clients 8]
+//          [--duration 30] [--seed 42] [--zipf 1.1] [--mix deposit=35,withdrawal=25,transfer=20,search=5,view=13,report=2]
+//          [--pipeline 1] [--duplicate-rate 0] [--batch-clients 0] [--no-limits] [--verbose]
+class WorkloadSimulator {
+    //operations a simulated client can perform
+    enum Operation {
+        DEPOSIT, WITHDRAWAL, TRANSFER, SEARCH, VIEW, REPORT;
+
+        //true for the operations that go through admission control as a transaction
+        boolean isTransaction() {
+            return this == DEPOSIT || this == WITHDRAWAL || this == TRANSFER;
+        }
+    }
+
+    private static final double INITIAL_DEPOSIT = 1000; // opening balance of every account
+
+    private final int users; // number of customers to register
+    private final int accountsPerUser; // accounts opened for each customer
+    private final int clients; // number of concurrent interactive client threads
+    private final int batchClients; // number of further client threads sending transactions at batch priority
+    private final long durationMillis; // how long the clients run for
+    private final long seed; // seed for the customers, accounts and every client's operations
+    private final double zipfExponent; // skew of the account selection, 0 is uniform
+    private final int[] cumulativeWeights; // running total of the operation weights, indexed by ordinal
+    private final boolean limits; // false to remove the velocity and limit rules so only capacity is measured
+    private final int pipelineDepth; // transactions each client keeps in flight
+    private final double duplicateRate; // fraction of transactions sent a second time with the same idempotency key
+
+    private final Bank<Account<Transaction>> bank = new Bank<>(
+            //the per client rate limit is lifted, each simulated client stands for many real ones
+            new AdmissionController(Math.max(2, Runtime.getRuntime().availableProcessors()), 1000, 10_000, 4,
+                    Double.MAX_VALUE, Double.MAX_VALUE));
+    private String[] accountNumbers; // every account, in the order they were opened
+    private String[] usernames; // every customer, in the order they were registered
+    private double interactiveTransactionP99; // p99 latency in microseconds of the interactive clients' transactions
+
+    //constructor with the size of the bank and the workload to run against it
+    public WorkloadSimulator(int users, int accountsPerUser, int clients, int batchClients, long durationMillis, long seed,
+                             double zipfExponent, Map<Operation, Integer> mix, boolean limits, int pipelineDepth, double duplicateRate) {
+        this.users = users;
+        this.accountsPerUser = accountsPerUser;
+        this.clients = clients;
+        this.batchClients = batchClients;
+        this.durationMillis = durationMillis;
+        this.seed = seed;
+        this.zipfExponent = zipfExponent;
+        this.limits = limits;
+        this.pipelineDepth = pipelineDepth;
+        this.duplicateRate = duplicateRate;
+        cumulativeWeights = new int[Operation.values().length];
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            total += mix.getOrDefault(operation, 0);
+            cumulativeWeights[operation.ordinal()] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The operation mix must have at least one positive weight.");
+        }
+        if (batchClients > 0 && mix.getOrDefault(Operation.DEPOSIT, 0) + mix.getOrDefault(Operation.WITHDRAWAL, 0)
+                + mix.getOrDefault(Operation.TRANSFER, 0) <= 0) {
+            throw new IllegalArgumentException("Batch clients need a mix with at least one transaction.");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = 1000;
+        int accountsPerUser = 1;
+        int clients = 8;
+        long duration = 30;
+        long seed = 42;
+        double zipf = 1.1;
+        String mix = "deposit=35,withdrawal=25,transfer=20,search=5,view=13,report=2";
+        boolean limits = true;
+        int pipeline = 1;
+        double duplicateRate = 0;
+        int batchClients = 0;
+        boolean verbose = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--users":
+                    users = Integer.parseInt(args[++i]);
+                    break;
+                case "--accounts-per-user":
+                    accountsPerUser = Integer.parseInt(args[++i]);
+                    break;
+                case "--clients":
+                    clients = Integer.parseInt(args[++i]);
+                    break;
+                case "--duration":
+                    duration = Long.parseLong(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--zipf":
+                    zipf = Double.parseDouble(args[++i]);
+                    break;
+                case "--mix":
+                    mix = args[++i];
+                    break;
+                case "--pipeline":
+                    pipeline = Integer.parseInt(args[++i]);
+                    break;
+                case "--duplicate-rate":
+                    duplicateRate = Double.parseDouble(args[++i]);
+                    break;
+                case "--batch-clients":
+                    batchClients = Integer.parseInt(args[++i]);
+                    break;
+                case "--no-limits":
+                    limits = false;
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        ConsolePrinter.setMuted(!verbose);
+        boolean invariantsHeld = true;
+        double baselineP99 = 0;
+        if (batchClients > 0) {
+            //a shorter unmeasured run first, otherwise whichever measured run came first would also pay for the JIT
+            WorkloadSimulator warmUp = new WorkloadSimulator(users, accountsPerUser, clients, batchClients, Math.min(duration, 10) * 1000, seed, zipf, parseMix(mix), limits, pipeline, duplicateRate);
+            warmUp.setUp();
+            warmUp.warmUp();
+            //the same interactive workload on a bank of its own, without the batch clients
+            WorkloadSimulator baseline = new WorkloadSimulator(users, accountsPerUser, clients, 0, duration * 1000, seed, zipf, parseMix(mix), limits, pipeline, duplicateRate);
+            baseline.setUp();
+            invariantsHeld = baseline.run();
+            baselineP99 = baseline.interactiveTransactionP99;
+            print("");
+        }
+        WorkloadSimulator simulator = new WorkloadSimulator(users, accountsPerUser, clients, batchClients, duration * 1000, seed, zipf, parseMix(mix), limits, pipeline, duplicateRate);
+        simulator.setUp();
+        invariantsHeld &= simulator.run();
+        if (batchClients > 0) {
+            print("");
+            print(String.format("Interactive transaction p99: %.1f us alone, %.1f us with %d batch clients",
+                    baselineP99, simulator.interactiveTransactionP99, batchClients));
+        }
+        //savings accounts keep their interest schedulers running, so the process is ended explicitly
+        System.exit(invariantsHeld ? 0 : 1);
+    }
+
+    //parses a mix such as deposit=35,withdrawal=25 into a weight for each operation
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like deposit=35, found: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    //registers the customers and opens their accounts through the bank's own methods
+    public void setUp() {
+        if (!limits) {
+            bank.setRules(new ArrayList<>());
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        usernames = new String[users];
+        accountNumbers = new String[users * accountsPerUser];
+        for (int i = 0; i < users; i++) {
+            usernames[i] = String.format("user%06d", i);
+            String phoneNumber = String.format("%010d", random.nextLong(10_000_000_000L));
+            try {
+                bank.registerNewCustomer("Customer " + letters(i), usernames[i], (1 + random.nextInt(9999)) + " Main Street", phoneNumber);
+            } catch (InvalidInputException e) {
+                throw new IllegalStateException("Could not register simulated customer " + usernames[i] + ": " + e.getMessage());
+            }
+            for (int j = 0; j < accountsPerUser; j++) {
+                String accountNumber = String.format("%09d", i * accountsPerUser + j);
+                //alternates account types so both checking and savings accounts take part
+                bank.openAccount(usernames[i], accountNumber, INITIAL_DEPOSIT, (i + j) % 2 == 0 ? "checking" : "savings");
+                accountNumbers[i * accountsPerUser + j] = accountNumber;
+            }
+        }
+    }
+
+    //runs the clients for the configured duration, prints the results and returns true if every invariant held
+    public boolean run() throws InterruptedException {
+        Client[] workers = new Client[clients + batchClients];
+        long elapsed = runClients(workers);
+        printResults(workers, elapsed);
+        return checkInvariants(workers);
+    }
+
+    //runs the clients for the configured duration without printing or checking anything, so the JIT has compiled
+    //the bank before a measured run
+    public void warmUp() throws InterruptedException {
+        runClients(new Client[clients + batchClients]);
+    }
+
+    //fills in and runs one client for each slot of workers until the deadline, returns how long they ran in nanoseconds
+    private long runClients(Client[] workers) throws InterruptedException {
+        ZipfDistribution distribution = new ZipfDistribution(accountNumbers.length, zipfExponent);
+        //the hottest ranks are spread over the accounts instead of always being the first ones opened
+        int[] rankToAccount = new int[accountNumbers.length];
+        SplittableRandom shuffle = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        for (int i = 0; i < rankToAccount.length; i++) {
+            int j = shuffle.nextInt(i + 1);
+            rankToAccount[i] = rankToAccount[j];
+            rankToAccount[j] = i;
+        }
+
+        Thread[] threads = new Thread[workers.length];
+        long deadline = System.nanoTime() + durationMillis * 1_000_000;
+        for (int i = 0; i < workers.length; i++) {
+            //batch clients come after the interactive ones so the interactive clients' sequences do not change
+            boolean batch = i >= clients;
+            workers[i] = new Client(batch ? "batch-" + (i - clients) : "client-" + i, batch ? Priority.BATCH : Priority.INTERACTIVE,
+                    new SplittableRandom(LedgerHash.mix(seed + i)), distribution, rankToAccount, deadline);
+            threads[i] = new Thread(workers[i], "simulated-" + workers[i].clientId);
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    //prints the count, throughput and latency percentiles of each operation
+    private void printResults(Client[] workers, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        print(String.format("Workload: %d customers, %d accounts, %d clients, %d batch clients, %.1f s, seed %d, zipf %.2f, limits %s, pipeline %d, duplicates %.2f",
+                users, accountNumbers.length, clients, batchClients, seconds, seed, zipfExponent, limits ? "on" : "off", pipelineDepth, duplicateRate));
+        print(String.format("%-11s %10s %10s %10s %10s %10s %10s %10s",
+                "Operation", "Count", "Ops/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+        //the rows are the interactive clients' operations, the batch clients' transactions get a row of their own
+        long[] all = new long[0];
+        long[] interactiveTransactions = new long[0];
+        long[] batchTransactions = new long[0];
+        for (Operation operation : Operation.values()) {
+            long[] latencies = new long[0];
+            for (Client worker : workers) {
+                if (worker.priority == Priority.BATCH) {
+                    batchTransactions = concat(batchTransactions, worker.latencies[operation.ordinal()], worker.counts[operation.ordinal()]);
+                } else {
+                    latencies = concat(latencies, worker.latencies[operation.ordinal()], worker.counts[operation.ordinal()]);
+                }
+            }
+            all = concat(all, latencies, latencies.length);
+            if (operation.isTransaction()) {
+                interactiveTransactions = concat(interactiveTransactions, latencies, latencies.length);
+            }
+            printRow(operation.name().toLowerCase(), latencies, seconds);
+        }
+        printRow("total", all, seconds);
+        if (batchClients > 0) {
+            printRow("batch", batchTransactions, seconds);
+        }
+        Arrays.sort(interactiveTransactions);
+        interactiveTransactionP99 = interactiveTransactions.length == 0 ? 0 : percentile(interactiveTransactions, 0.99);
+
+        long completed = 0, failed = 0, retried = 0, duplicates = 0;
+        for (Client worker : workers) {
+            completed += worker.completed.sum();
+            failed += worker.failed.sum();
+            retried += worker.retried.sum();
+            duplicates += worker.duplicates.sum();
+        }
+        print(String.format("Transactions completed: %d, failed: %d, retry later: %d, sent twice: %d", completed, failed, retried, duplicates));
+        print(bank.getIdempotencyCache().toString());
+        print(String.format("Rules: %d flagged, %d rejected", bank.getLimitChecker().getFlaggedCount(), bank.getLimitChecker().getRejectedCount()));
+        if (batchClients > 0) {
+            print(bank.getAdmissionController().toString());
+        }
+    }
+
+    //prints one row of the results table, sorting the latencies to find the percentiles
+    private static void printRow(String label, long[] latencies, double seconds) {
+        if (latencies.length == 0) {
+            print(String.format("%-11s %10d", label, 0));
+            return;
+        }
+        Arrays.sort(latencies);
+        print(String.format("%-11s %10d %10.0f %10.1f %10.1f %10.1f %10.1f %10.1f", label, latencies.length,
+                latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e3));
+    }
+
+    //latency at a percentile of sorted nanosecond latencies, in microseconds
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+
+    //writes a line of the results straight to the console, the bank's own output stays muted until the process
+    //exits so reports still finishing on the report queue can not interleave with the results
+    private static void print(String line) {
+        System.out.println(line);
+    }
+
+    //checks that no money was created or lost, that every balance agrees with its ledger, that the live integrity
+    //root agrees with one rebuilt from every ledger and that nothing threw
+    //expected money is the opening balances plus what the clients saw deposited, less what they saw withdrawn,
+    //plus the interest posted to the ledgers, transfers move money between accounts and so cancel out
+    private boolean checkInvariants(Client[] workers) {
+        double expected = INITIAL_DEPOSIT * accountNumbers.length;
+        long errors = 0;
+        Throwable firstError = null;
+        for (Client worker : workers) {
+            expected += worker.deposited.sum() - worker.withdrawn.sum();
+            errors += worker.errors.sum();
+            if (firstError == null) {
+                firstError = worker.firstError;
+            }
+        }
+        double actual = 0;
+        int mismatched = 0;
+        for (String accountNumber : accountNumbers) {
+            Account<Transaction> account = bank.getAccounts().get(accountNumber);
+            synchronized (account) {
+                double ledgerTotal = 0;
+                for (Transaction transaction : account.getTransactions()) {
+                    ledgerTotal += transaction.getSignedAmount();
+                    if (transaction.getTransactionType().equals("Interest")) {
+                        expected += transaction.getAmount();
+                    }
+                }
+                double balance = account.getBalance();
+                if (Math.abs(ledgerTotal - balance) > 0.005) {
+                    mismatched++;
+                }
+                actual += balance;
+            }
+        }
+        boolean conserved = Math.abs(expected - actual) < 0.01;
+        boolean integrityMatches = checkIntegrityRoot();
+        print(String.format("Money conserved: %s (expected %.2f, actual %.2f)", conserved ? "yes" : "NO", expected, actual));
+        print(String.format("Balances match ledgers: %s (%d mismatched)", mismatched == 0 ? "yes" : "NO", mismatched));
+        print(String.format("Integrity root matches ledgers: %s", integrityMatches ? "yes" : "NO"));
+        print(String.format("Unexpected errors: %d%s", errors, firstError == null ? "" : ", first: " + firstError));
+        return conserved && mismatched == 0 && integrityMatches && errors == 0;
+    }
+
+    //compares the incrementally updated integrity root with one built afresh from every ledger hash
+    //the snapshot folds any buffered deposits first, and is taken on both sides of the live root so an interest
+    //posting landing in between is retried rather than reported as a mismatch
+    private boolean checkIntegrityRoot() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long before = bank.snapshotIntegrity().root();
+            long live = bank.integrityRoot();
+            if (before == bank.snapshotIntegrity().root()) {
+                return live == before;
+            }
+        }
+        return false;
+    }
+
+    //copies the first count values of a client's latencies onto the end of an array
+    private static long[] concat(long[] into, long[] values, int count) {
+        long[] result = Arrays.copyOf(into, into.length + count);
+        System.arraycopy(values, 0, result, into.length, count);
+        return result;
+    }
+
+    //spells out a number in letters, since customer names may only contain letters
+    private static String letters(int number) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return sb.reverse().toString();
+    }
+
+    //a simulated client running its own sequence of operations until the deadline
+    //transactions carry an idempotency key and up to pipelineDepth of them are kept in flight, one that comes back
+    //retry later is sent again with the same key, and some are sent twice on purpose like a client that timed out
+    private class Client implements Runnable {
+        private final String clientId;
+        private final Priority priority; // priority the client's transactions are submitted at
+        private final SplittableRandom random; // decides the operations, accounts and amounts of this client
+        private final ZipfDistribution distribution;
+        private final int[] rankToAccount;
+        private final long deadline; // System.nanoTime at which the client stops
+        private final Semaphore inFlight = new Semaphore(pipelineDepth); // one permit per transaction in flight
+        private final Queue<PendingTransaction> retries = new ConcurrentLinkedQueue<>(); // shed transactions to send again
+        private long nextKey; // sequence used to make this client's idempotency keys
+        //latencies in nanoseconds of each operation type, recorded by this client's thread and by completions
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] counts = new int[Operation.values().length];
+        //outcome of the transactions as the client saw them, amounts are whole dollars so the sums are exact
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder retried = new LongAdder();
+        private final LongAdder duplicates = new LongAdder(); // transactions deliberately sent a second time
+        private final LongAdder deposited = new LongAdder();
+        private final LongAdder withdrawn = new LongAdder();
+        private final LongAdder errors = new LongAdder(); // unexpected exceptions thrown by the bank
+        private volatile Throwable firstError;
+
+        Client(String clientId, Priority priority, SplittableRandom random, ZipfDistribution distribution, int[] rankToAccount, long deadline) {
+            this.clientId = clientId;
+            this.priority = priority;
+            this.random = random;
+            this.distribution = distribution;
+            this.rankToAccount = rankToAccount;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                try {
+                    PendingTransaction retry = retries.poll();
+                    if (retry != null) {
+                        send(retry);
+                    } else {
+                        step();
+                    }
+                } catch (RuntimeException e) {
+                    //an exception escaping the bank is a bug, it is counted and fails the run instead of ending the client
+                    fail(e);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            //waits for the transactions still in flight, shed ones left in the retry queue were never applied
+            inFlight.acquireUninterruptibly(pipelineDepth);
+        }
+
+        //performs one operation, transactions are recorded when they complete and everything else straight away
+        private void step() throws InterruptedException {
+            Operation operation = nextOperation();
+            int account = nextAccount();
+            String accountNumber = accountNumbers[account];
+            double amount = 1 + random.nextInt(500);
+            long start = System.nanoTime();
+            switch (operation) {
+                case DEPOSIT:
+                    send(new PendingTransaction(operation, clientId + "-" + nextKey++, accountNumber, "deposit", amount, null));
+                    return;
+                case WITHDRAWAL:
+                    send(new PendingTransaction(operation, clientId + "-" + nextKey++, accountNumber, "withdrawal", amount, null));
+                    return;
+                case TRANSFER:
+                    int destination = nextAccount();
+                    //a transfer needs two different accounts, so a repeat of the source moves on to its neighbour
+                    if (destination == account) {
+                        destination = (destination + 1) % accountNumbers.length;
+                    }
+                    send(new PendingTransaction(operation, clientId + "-" + nextKey++, accountNumber, "transfer", amount, accountNumbers[destination]));
+                    return;
+                case SEARCH:
+                    bank.searchAccounts(usernames[random.nextInt(usernames.length)]);
+                    break;
+                case VIEW:
+                    bank.viewAccount(accountNumber);
+                    break;
+                case REPORT:
+                    //reports run on the report queue, so this only measures scheduling them
+                    bank.generateDeltaReport();
+                    break;
+            }
+            record(operation, System.nanoTime() - start);
+        }
+
+        //submits a transaction once a pipeline slot is free, and sometimes a second time with the same key
+        private void send(PendingTransaction transaction) throws InterruptedException {
+            inFlight.acquire();
+            CompletableFuture<TransactionResult> future = bank.submitTransaction(clientId, transaction.idempotencyKey, priority,
+                    transaction.accountNumber, transaction.type, transaction.amount, transaction.destAccountNumber);
+            if (duplicateRate > 0 && random.nextDouble() < duplicateRate) {
+                //the repeat must be answered with the original transaction's result rather than applied again
+                duplicates.increment();
+                bank.submitTransaction(clientId, transaction.idempotencyKey, priority,
+                        transaction.accountNumber, transaction.type, transaction.amount, transaction.destAccountNumber);
+            }
+            future.whenComplete((result, error) -> {
+                try {
+                    if (error != null) {
+                        fail(error);
+                    } else {
+                        complete(transaction, result);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        //counts the result of a transaction, one that was not admitted goes back to be sent again with the same key
+        private void complete(PendingTransaction transaction, TransactionResult result) {
+            switch (result.getStatus()) {
+                case COMPLETED:
+                    completed.increment();
+                    if (transaction.type.equals("deposit")) {
+                        deposited.add((long) transaction.amount);
+                    } else if (transaction.type.equals("withdrawal")) {
+                        withdrawn.add((long) transaction.amount);
+                    }
+                    break;
+                case FAILED:
+                    failed.increment();
+                    break;
+                case RETRY_LATER:
+                    retried.increment();
+                    retries.add(transaction);
+                    return;
+            }
+            record(transaction.operation, System.nanoTime() - transaction.start);
+        }
+
+        //counts an unexpected exception and keeps the first one for the results
+        private void fail(Throwable error) {
+            errors.increment();
+            if (firstError == null) {
+                firstError = error;
+            }
+        }
+
+        //picks an operation according to the weights of the mix, a batch client only ever picks transactions
+        private Operation nextOperation() {
+            while (true) {
+                int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+                for (Operation operation : Operation.values()) {
+                    if (pick < cumulativeWeights[operation.ordinal()]) {
+                        if (priority == Priority.INTERACTIVE || operation.isTransaction()) {
+                            return operation;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        //picks the index of an account, the most popular ranks far more often than the rest
+        private int nextAccount() {
+            return rankToAccount[distribution.sample(random)];
+        }
+
+        //stores a latency, growing the buffer for the operation when it is full
+        private synchronized void record(Operation operation, long nanos) {
+            int index = operation.ordinal();
+            if (counts[index] == latencies[index].length) {
+                latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+            }
+            latencies[index][counts[index]++] = nanos;
+        }
+    }
+
+    //a transaction a client has sent, kept so it can be sent again with the same key
+    //its latency runs from the first time it was sent, including any retries
+    private static final class PendingTransaction {
+        final Operation operation;
+        final String idempotencyKey;
+        final String accountNumber;
+        final String type;
+        final double amount;
+        final String destAccountNumber;
+        final long start = System.nanoTime();
+
+        PendingTransaction(Operation operation, String idempotencyKey, String accountNumber, String type, double amount, String destAccountNumber) {
+            this.operation = operation;
+            this.idempotencyKey = idempotencyKey;
+            this.accountNumber = accountNumber;
+            this.type = type;
+            this.amount = amount;
+            this.destAccountNumber = destAccountNumber;
+        }
+    }
+}
+
+//Zipf distribution over the ranks 0 to n - 1, rank k is picked with a probability proportional to 1 / (k + 1)^exponent
+//the cumulative weights are computed once so each sample is a binary search
+class ZipfDistribution {
+    private final double[] cumulative; // running total of the weights of the ranks
+
+    public ZipfDistribution(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+    }
+
+    //draws a rank using the given random source
+    public int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+}